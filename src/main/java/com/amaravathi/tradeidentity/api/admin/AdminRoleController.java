@@ -2,6 +2,7 @@ package com.amaravathi.tradeidentity.api.admin;
 
 import com.amaravathi.tradeidentity.api.admin.dto.CreateRoleRequestDto;
 import com.amaravathi.tradeidentity.api.admin.dto.RoleResponseResponseDto;
+import com.amaravathi.tradeidentity.api.admin.dto.SetRolePermissionsRequestDto;
 import com.amaravathi.tradeidentity.api.admin.dto.UpdateRoleRequestDto;
 import com.amaravathi.tradeidentity.domain.role.RoleService;
 import jakarta.validation.Valid;
@@ -51,4 +52,17 @@ public class AdminRoleController {
         return ResponseEntity.status(HttpStatus.OK).body(roleService.deleteRoleById(roleId));
 
     }
+
+    @GetMapping("/{roleId}/permissions")
+    public ResponseEntity<List<String>> getPermissions(@PathVariable int roleId) {
+        log.info("GET /admin/roles/{}/permissions", roleId);
+        return ResponseEntity.status(HttpStatus.OK).body(roleService.getRolePermissions(roleId));
+    }
+
+    @PutMapping("/{roleId}/permissions")
+    public ResponseEntity<List<String>> setPermissions(@PathVariable int roleId,
+                                                       @Valid @RequestBody SetRolePermissionsRequestDto req) {
+        log.info("PUT /admin/roles/{}/permissions count={}", roleId, req.getPermissions().size());
+        return ResponseEntity.status(HttpStatus.OK).body(roleService.setRolePermissions(roleId, req.getPermissions()));
+    }
 }
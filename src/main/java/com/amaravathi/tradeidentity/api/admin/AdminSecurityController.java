@@ -0,0 +1,39 @@
+package com.amaravathi.tradeidentity.api.admin;
+
+import com.amaravathi.tradeidentity.api.admin.dto.OffenderResponseDto;
+import com.amaravathi.tradeidentity.security.CredentialStuffingDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/trade-identity/v1/admin/security")
+@Slf4j
+@RequiredArgsConstructor
+public class AdminSecurityController {
+
+    private final CredentialStuffingDetector stuffingDetector;
+
+    @GetMapping("/offenders")
+    public ResponseEntity<Map<String, List<OffenderResponseDto>>> offenders() {
+        log.info("GET /admin/security/offenders");
+        Map<String, List<OffenderResponseDto>> body = new LinkedHashMap<>();
+        stuffingDetector.topOffenders().forEach((dimension, offenders) ->
+                body.put(dimension.name(), offenders.stream()
+                        .map(o -> OffenderResponseDto.builder()
+                                .key(o.key())
+                                .estimatedFailures(o.failures())
+                                .blocked(o.blocked())
+                                .build())
+                        .toList()));
+        return ResponseEntity.status(HttpStatus.OK).body(body);
+    }
+}
@@ -1,6 +1,8 @@
 package com.amaravathi.tradeidentity.api.admin;
 
 import com.amaravathi.tradeidentity.api.admin.dto.*;
+import com.amaravathi.tradeidentity.common.FieldSelection;
+import com.amaravathi.tradeidentity.common.FieldSelector;
 import com.amaravathi.tradeidentity.domain.role.RoleService;
 import com.amaravathi.tradeidentity.domain.user.UserService;
 import jakarta.validation.Valid;
@@ -8,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -23,11 +26,13 @@ import java.util.UUID;
 public class AdminUserController {
 
     private final UserService userService;
+    private final FieldSelector fieldSelector;
 
     @GetMapping
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
-        log.info("GET /admin/users");
-        return ResponseEntity.status(HttpStatus.OK).body(userService.getAllUsers());
+    public ResponseEntity<MappingJacksonValue> getAllUsers(@RequestParam(required = false) String fields) {
+        log.info("GET /admin/users fields={}", fields);
+        FieldSelection selection = fieldSelector.parse(fields, UserResponseDto.class);
+        return ResponseEntity.status(HttpStatus.OK).body(selection.wrap(userService.getAllUsers(selection)));
     }
 
     @PostMapping
@@ -38,9 +43,11 @@ public class AdminUserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<UserResponseDto> getUserById(@PathVariable int userId) {
-        log.info("GET /admin/users/{}", userId);
-        return ResponseEntity.status(HttpStatus.OK).body(userService.requireUser(userId));
+    public ResponseEntity<MappingJacksonValue> getUserById(@PathVariable int userId,
+                                                           @RequestParam(required = false) String fields) {
+        log.info("GET /admin/users/{} fields={}", userId, fields);
+        FieldSelection selection = fieldSelector.parse(fields, UserResponseDto.class);
+        return ResponseEntity.status(HttpStatus.OK).body(selection.wrap(userService.requireUser(userId, selection)));
     }
 
     @PatchMapping("/{userId}")
@@ -66,13 +73,13 @@ public class AdminUserController {
     }
 
     @PutMapping("/{userId}/roles")
-    public ResponseEntity<UserResponseDto> replaceRoles(@PathVariable int userId,
+    public ResponseEntity<MappingJacksonValue> replaceRoles(@PathVariable int userId,
                                                         @Valid @RequestBody SetUserRolesRequestDto req,
                                      Authentication auth) {
         log.info("PUT /admin/users/{}/roles rolesCount={}", userId,
                 req.getRoles() == null ? 0 : req.getRoles().size());
         userService.setRoles(userId, req.getRoles(), auth);
-        return getUserById(userId);
+        return getUserById(userId, null);
     }
 
 
@@ -0,0 +1,18 @@
+package com.amaravathi.tradeidentity.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.NoArgsConstructor;
+
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffenderResponseDto {
+    String key;
+    long estimatedFailures;
+    boolean blocked;
+}
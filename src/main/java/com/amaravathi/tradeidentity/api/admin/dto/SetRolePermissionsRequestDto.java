@@ -0,0 +1,19 @@
+package com.amaravathi.tradeidentity.api.admin.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.NoArgsConstructor;
+
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetRolePermissionsRequestDto {
+    @NotNull List<String> permissions;
+}
@@ -1,19 +1,32 @@
 package com.amaravathi.tradeidentity.api.auth;
 
 import com.amaravathi.tradeidentity.api.auth.dto.*;
+import com.amaravathi.tradeidentity.common.FieldSelection;
+import com.amaravathi.tradeidentity.common.FieldSelector;
+import com.amaravathi.tradeidentity.common.ResourceNotFoundException;
+import com.amaravathi.tradeidentity.domain.magic.LoginTokenOwner;
 import com.amaravathi.tradeidentity.domain.magic.MagicLinkService;
+import com.amaravathi.tradeidentity.domain.revocation.AccessTokenDenylist;
+import com.amaravathi.tradeidentity.domain.refresh.RefreshRotation;
 import com.amaravathi.tradeidentity.domain.refresh.RefreshTokenService;
-import com.amaravathi.tradeidentity.domain.role.Role;
 import com.amaravathi.tradeidentity.domain.role.RoleService;
 import com.amaravathi.tradeidentity.domain.user.AppUser;
+import com.amaravathi.tradeidentity.domain.user.UserCredentials;
 import com.amaravathi.tradeidentity.domain.user.UserService;
+import com.amaravathi.tradeidentity.domain.user.UserStatus;
+import com.amaravathi.tradeidentity.security.AccessTokenClaims;
+import com.amaravathi.tradeidentity.security.AuthRateLimiter;
+import com.amaravathi.tradeidentity.security.CredentialStuffingDetector;
 import com.amaravathi.tradeidentity.security.JwtTokenService;
 import com.amaravathi.tradeidentity.security.SecurityUser;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -29,44 +42,73 @@ import static com.amaravathi.tradeidentity.domain.user.UserServiceUtil.*;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final List<String> ME_PROFILE_FIELDS = List.of("email", "fullName", "phoneVerified", "emailVerified");
+
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final RoleService roleService;
     private final JwtTokenService jwtTokenService;
     private final RefreshTokenService refreshTokenService;
     private final MagicLinkService magicLinkService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthRateLimiter authRateLimiter;
+    private final CredentialStuffingDetector stuffingDetector;
+    private final FieldSelector fieldSelector;
 
     @PostMapping("/auth/sign-up")
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<SignUpResponseDto> signUp(@Valid @RequestBody SignUpRequestDto req) {
+    public ResponseEntity<SignUpResponseDto> signUp(@Valid @RequestBody SignUpRequestDto req,
+                                                    HttpServletRequest request) {
 
         log.info("POST /auth/sign-up email={}", req.getEmail());
+        authRateLimiter.check(AuthRateLimiter.SIGN_UP, request, req.getEmail());
+        // The verification email is queued in the same statement and sent by the outbox relay
         SignUpResponseDto signUpResponseDto = userService.signUpUser(req);
 
-        // Send magic link to verify email
-        magicLinkService.sendEmailVerifyLink(req.getEmail(), null);
-
         return  ResponseEntity.status(HttpStatus.CREATED).body(signUpResponseDto);
     }
 
+    @GetMapping("/auth/email-availability")
+    public EmailAvailabilityResponseDto emailAvailability(@RequestParam String email, HttpServletRequest request) {
+        authRateLimiter.check(AuthRateLimiter.EMAIL_AVAILABILITY, request, null);
+        return EmailAvailabilityResponseDto.builder()
+                .email(email)
+                .available(userService.isEmailAvailable(email))
+                .build();
+    }
+
     @PostMapping("/auth/sign-in")
-    public SignInResponseDto signIn(@Valid @RequestBody SignInRequestDto req) {
+    public MappingJacksonValue signIn(@Valid @RequestBody SignInRequestDto req,
+                                      @RequestParam(name = "fields", required = false) String fieldsParam,
+                                      HttpServletRequest request) {
 
         log.info("POST /auth/sign-in email={}", req.getEmail());
+        // Parsed up front so a bad fields= fails before any credential work
+        FieldSelection fields = fieldSelector.parse(fieldsParam, SignInResponseDto.class).with("tokenDetails");
+        authRateLimiter.check(AuthRateLimiter.SIGN_IN, request, req.getEmail());
+        stuffingDetector.check(request, req.getEmail());
 
-        AppUser user = userService.requireUserByEmail(req.getEmail());
-        if (!passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
+        // Phase 1: narrow credential row; nothing else is read until the password matches
+        UserCredentials credentials;
+        try {
+            credentials = userService.requireCredentialsByEmail(req.getEmail());
+        } catch (ResourceNotFoundException ex) {
+            stuffingDetector.recordFailure(request, req.getEmail());
+            throw ex;
+        }
+        if (!passwordEncoder.matches(req.getPassword(), credentials.passwordHash())
+                || credentials.status() == UserStatus.DISABLED) {
+            stuffingDetector.recordFailure(request, req.getEmail());
             throw new IllegalArgumentException("Invalid credentials");
         }
-        List<String> roleCodes =
-                user.getRoles() == null ? List.of() :
-                        user.getRoles().stream()
-                                .filter(Objects::nonNull)
-                                .map(Role::getCode)
-                                .filter(Objects::nonNull)
-                                .toList();
-        String access = jwtTokenService.generateAccessToken(user.getId(), roleCodes);
-        String refresh = refreshTokenService.issue(user.getId());
+        userService.rehashPasswordIfNeeded(credentials.id(), credentials.passwordHash(), req.getPassword());
+
+        String access = jwtTokenService.generateAccessToken(credentials.id(), credentials.roleCodes(),
+                credentials.tokenVersion());
+        String refresh = refreshTokenService.issue(credentials.id());
+
+        // Phase 2: profile for the response, joining only the requested associations
+        AppUser user = userService.requireUserWithDetails(credentials.id(), fields);
 
         TokenPairResponseDto tokenPairResponseDto =  TokenPairResponseDto.builder()
                 .accessToken(access)
@@ -75,49 +117,80 @@ public class AuthController {
                 .expiresInSeconds(900)
                 .build();
 
-        return SignInResponseDto.builder()
+        return fields.wrap(SignInResponseDto.builder()
                 .tokenDetails(tokenPairResponseDto)
                 .id(user.getId())
                 .phone(user.getPhone())
                 .email(user.getEmail())
                 .fullName(user.getFullName())
                 .status(user.getStatus())
-                .originCountry(mapCountryEntityToCountryDto(user.getOriginCountry()))
-                .destinationCountry(mapCountryEntityToCountryDto(user.getDestinationCountry()))
-                .productType(mapProductTypeEntityToProductTypeDto(user.getProductType()))
-                .roles(mapRoleEntityToRoleResponseDto(user.getRoles()))
+                .originCountry(fields.includes("originCountry") ? mapCountryEntityToCountryDto(user.getOriginCountry()) : null)
+                .destinationCountry(fields.includes("destinationCountry") ? mapCountryEntityToCountryDto(user.getDestinationCountry()) : null)
+                .productType(fields.includes("productType") ? mapProductTypeEntityToProductTypeDto(user.getProductType()) : null)
+                .roles(fields.includes("roles") ? mapRoleEntityToRoleResponseDto(user.getRoles()) : null)
                 .emailVerified(user.isEmailVerified())
                 .phoneVerified(user.isPhoneVerified())
                 .isAppNotificationEnabled(user.isAppNotificationEnabled())
                 .isEmailNotificationEnabled(user.isEmailNotificationEnabled())
                 .isPhoneNotificationEnabled(user.isPhoneNotificationEnabled())
                 .countryCode(user.getCountryCode())
+                .build());
+    }
+
+    @PostMapping("/auth/magic-login/send")
+    public GenericMessageResponseDto sendLoginLink(@Valid @RequestBody SendMagicLinkRequestDto req,
+                                                   HttpServletRequest request) {
+        log.info("POST /auth/magic-login/send email={}", req.getEmail());
+        authRateLimiter.check(AuthRateLimiter.MAGIC_LINK, request, req.getEmail());
+        magicLinkService.sendLoginLink(req.getEmail(), req.getRedirectUrl())
+                .whenComplete((v, ex) -> logUndelivered("Login", req.getEmail(), ex));
+        return new GenericMessageResponseDto("If an account exists, a login link has been sent.");
+    }
+
+    @PostMapping("/auth/magic-login")
+    public TokenPairResponseDto magicLogin(@Valid @RequestBody MagicLoginRequestDto req, HttpServletRequest request) {
+        log.info("POST /auth/magic-login");
+        authRateLimiter.check(AuthRateLimiter.MAGIC_LOGIN, request, null);
+
+        // One SHA-256 and an indexed conditional update instead of a bcrypt verify
+        LoginTokenOwner owner = magicLinkService.consumeLoginToken(req.getToken());
+        List<String> roles = roleService.roleCodesForUser(owner.userId());
+
+        String access = jwtTokenService.generateAccessToken(owner.userId(), roles, owner.tokenVersion());
+        String refresh = refreshTokenService.issue(owner.userId());
+
+        return TokenPairResponseDto.builder()
+                .accessToken(access)
+                .refreshToken(refresh)
+                .tokenType("Bearer")
+                .expiresInSeconds(900)
                 .build();
     }
 
     @PostMapping("/auth/refresh")
     public TokenPairResponseDto refresh(@Valid @RequestBody RefreshRequestDto req) {
         log.info("POST /auth/refresh");
-        int userId = refreshTokenService.validateAndGetUserId(req.getRefreshToken());
-        List<String> roles = roleService.roleCodesForUser(userId);
+        RefreshRotation rotation = refreshTokenService.rotate(req.getRefreshToken());
 
-        String access = jwtTokenService.generateAccessToken(userId, roles);
-        String newRefresh = refreshTokenService.rotate(req.getRefreshToken(), userId);
+        String access = jwtTokenService.generateAccessToken(rotation.userId(), rotation.roleCodes(),
+                rotation.tokenVersion());
 
         return TokenPairResponseDto.builder()
                 .accessToken(access)
-                .refreshToken(newRefresh)
+                .refreshToken(rotation.refreshToken())
                 .tokenType("Bearer")
                 .expiresInSeconds(900)
                 .build();
     }
 
     @PostMapping("/auth/logout")
-    public GenericMessageResponseDto logout(@Valid @RequestBody LogoutRequestDto req) {
+    public GenericMessageResponseDto logout(@Valid @RequestBody LogoutRequestDto req,
+                                            @RequestHeader(value = "Authorization", required = false) String authorization) {
         log.info("POST /auth/logout");
         boolean all = req.getAllSessions() != null && req.getAllSessions();
         if (!all) {
             refreshTokenService.revokeOne(req.getRefreshToken());
+            revokePresentedAccessToken(authorization);
             return new GenericMessageResponseDto("Logged out.");
         }
         int userId = refreshTokenService.validateAndGetUserId(req.getRefreshToken());
@@ -126,27 +199,35 @@ public class AuthController {
     }
 
     @GetMapping("/auth/me")
-    public MeResponseDto me(Authentication auth) {
-        log.info("GET /auth/me");
+    public MappingJacksonValue me(@RequestParam(name = "fields", required = false) String fieldsParam,
+                                  Authentication auth) {
+        log.info("GET /auth/me fields={}", fieldsParam);
+        FieldSelection fields = fieldSelector.parse(fieldsParam, MeResponseDto.class);
         SecurityUser principal = (SecurityUser) auth.getPrincipal();
         int userId = principal.userId();
-        var user = userService.requireUser(userId);
-        List<String> roles = roleService.roleCodesForUser(userId);
 
-        return MeResponseDto.builder()
-                .id(userId)
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .roles(roles)
-                .phoneVerified(user.isPhoneVerified())
-                .emailVerified(user.isEmailVerified())
-                .build();
+        MeResponseDto.MeResponseDtoBuilder me = MeResponseDto.builder().id(userId);
+        if (fields.includes("roles")) {
+            me.roles(roleService.roleCodesForUser(userId));
+        }
+        // The user row (no associations) only when a profile property is asked for
+        if (!fields.selected(ME_PROFILE_FIELDS).isEmpty()) {
+            AppUser user = userService.requireUserWithDetails(userId, FieldSelection.NONE);
+            me.email(user.getEmail())
+                    .fullName(user.getFullName())
+                    .phoneVerified(user.isPhoneVerified())
+                    .emailVerified(user.isEmailVerified());
+        }
+        return fields.wrap(me.build());
     }
 
     @PostMapping("/verify/email/send-magic-link")
-    public GenericMessageResponseDto sendMagic(@Valid @RequestBody SendMagicLinkRequestDto req) {
+    public GenericMessageResponseDto sendMagic(@Valid @RequestBody SendMagicLinkRequestDto req,
+                                               HttpServletRequest request) {
         log.info("POST /verify/email/send-magic-link email={}", req.getEmail());
-        magicLinkService.sendEmailVerifyLink(req.getEmail(), req.getRedirectUrl());
+        authRateLimiter.check(AuthRateLimiter.MAGIC_LINK, request, req.getEmail());
+        magicLinkService.sendEmailVerifyLink(req.getEmail(), req.getRedirectUrl())
+                .whenComplete((v, ex) -> logUndelivered("Verification", req.getEmail(), ex));
         return new GenericMessageResponseDto("If an account exists, a verification link has been sent.");
     }
 
@@ -156,4 +237,25 @@ public class AuthController {
         magicLinkService.confirmEmail(token);
         return new VerifyEmailResponseDto("Email verified successfully.", true);
     }
+
+    // ------------------ helper ------------------
+
+    /**
+     * Link emails are delivered after the response; a full queue or a provider failure is only
+     * logged. Surfacing it would answer differently for registered emails.
+     */
+    private static void logUndelivered(String kind, String email, Throwable ex) {
+        if (ex != null) log.warn("{} link not delivered email={} reason={}", kind, email, ex.toString());
+    }
+
+    private void revokePresentedAccessToken(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) return;
+        try {
+            AccessTokenClaims claims = jwtTokenService.verifyAccessToken(authorization.substring(7));
+            accessTokenDenylist.revoke(claims.jti(), claims.userId(), claims.expiresAt());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Expired or invalid access token: nothing left to revoke
+            log.debug("Logout with unusable access token: {}", ex.getMessage());
+        }
+    }
 }
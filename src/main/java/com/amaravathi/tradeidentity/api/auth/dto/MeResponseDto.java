@@ -3,6 +3,8 @@ package com.amaravathi.tradeidentity.api.auth.dto;
 import java.util.UUID;
 import java.util.List;
 
+import com.amaravathi.tradeidentity.common.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,6 +16,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class MeResponseDto {
 
     int id;
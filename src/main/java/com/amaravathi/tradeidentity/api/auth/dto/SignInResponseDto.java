@@ -4,6 +4,8 @@ import com.amaravathi.tradeidentity.api.formData.dto.CountryResponseDto;
 import com.amaravathi.tradeidentity.api.formData.dto.ProductTypeResponseDto;
 import com.amaravathi.tradeidentity.api.admin.dto.RoleResponseResponseDto;
 import com.amaravathi.tradeidentity.domain.user.UserStatus;
+import com.amaravathi.tradeidentity.common.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,6 +20,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class SignInResponseDto {
     int id;
     String fullName;
@@ -0,0 +1,48 @@
+package com.amaravathi.tradeidentity.api.oauth2;
+
+import com.amaravathi.tradeidentity.api.oauth2.dto.BatchIntrospectionRequestDto;
+import com.amaravathi.tradeidentity.api.oauth2.dto.BatchIntrospectionResponseDto;
+import com.amaravathi.tradeidentity.api.oauth2.dto.BatchIntrospectionResultDto;
+import com.amaravathi.tradeidentity.api.oauth2.dto.IntrospectionResponseDto;
+import com.amaravathi.tradeidentity.domain.introspection.TokenIntrospectionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/oauth2")
+@Slf4j
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+    private final TokenIntrospectionService introspectionService;
+
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponseDto> introspect(
+            @RequestParam("token") String token,
+            @RequestParam(value = "token_type_hint", required = false) String tokenTypeHint) {
+        log.debug("POST /oauth2/introspect hint={}", tokenTypeHint);
+        IntrospectionResponseDto result = introspectionService.introspect(token);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(result.getCacheMaxAgeSeconds())).cachePrivate())
+                .body(result);
+    }
+
+    @PostMapping(value = "/introspect/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchIntrospectionResponseDto> introspectBatch(
+            @Valid @RequestBody BatchIntrospectionRequestDto req) {
+        log.debug("POST /oauth2/introspect/batch count={}", req.getTokens().size());
+        var results = introspectionService.introspectAll(req.getTokens()).stream()
+                .map(r -> new BatchIntrospectionResultDto(r, r.getCacheMaxAgeSeconds()))
+                .toList();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new BatchIntrospectionResponseDto(results));
+    }
+}
@@ -0,0 +1,67 @@
+package com.amaravathi.tradeidentity.api.oauth2;
+
+import com.amaravathi.tradeidentity.api.oauth2.dto.ClientTokenResponseDto;
+import com.amaravathi.tradeidentity.domain.client.ServiceClientService;
+import com.amaravathi.tradeidentity.security.AuthRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@RestController
+@RequestMapping("/oauth2")
+@Slf4j
+@RequiredArgsConstructor
+public class TokenController {
+
+    private final ServiceClientService serviceClientService;
+    private final AuthRateLimiter authRateLimiter;
+
+    /**
+     * Client-credentials grant; credentials via HTTP Basic or the client_id/client_secret form fields.
+     * Throttled per IP and client_id before the secret check, which shares the bcrypt pool with sign-in.
+     */
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<ClientTokenResponseDto> token(
+            @RequestParam("grant_type") String grantType,
+            @RequestParam(value = "client_id", required = false) String clientId,
+            @RequestParam(value = "client_secret", required = false) String clientSecret,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            HttpServletRequest request) {
+        log.info("POST /oauth2/token grant_type={}", grantType);
+        if (!"client_credentials".equals(grantType)) {
+            throw new IllegalArgumentException("Unsupported grant_type");
+        }
+
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            String[] basic = decodeBasic(authorization.substring(6));
+            clientId = basic[0];
+            clientSecret = basic[1];
+        }
+        authRateLimiter.checkClient(AuthRateLimiter.CLIENT_TOKEN, request, clientId);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(serviceClientService.issueToken(clientId, clientSecret));
+    }
+
+    // ------------------ helper ------------------
+
+    private static String[] decodeBasic(String encoded) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(encoded.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid client credentials");
+        }
+        int colon = decoded.indexOf(':');
+        if (colon <= 0) throw new IllegalArgumentException("Invalid client credentials");
+        return new String[]{decoded.substring(0, colon), decoded.substring(colon + 1)};
+    }
+}
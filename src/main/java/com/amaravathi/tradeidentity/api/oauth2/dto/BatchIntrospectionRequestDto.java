@@ -0,0 +1,20 @@
+package com.amaravathi.tradeidentity.api.oauth2.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIntrospectionRequestDto {
+    @NotEmpty @Size(max = 500) List<String> tokens;
+}
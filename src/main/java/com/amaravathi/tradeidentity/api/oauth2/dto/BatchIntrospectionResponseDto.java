@@ -0,0 +1,19 @@
+package com.amaravathi.tradeidentity.api.oauth2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIntrospectionResponseDto {
+    /** Same order as the request's tokens. */
+    List<BatchIntrospectionResultDto> results;
+}
@@ -0,0 +1,19 @@
+package com.amaravathi.tradeidentity.api.oauth2.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIntrospectionResultDto {
+    @JsonUnwrapped IntrospectionResponseDto result;
+    @JsonProperty("cache_max_age") long cacheMaxAge;
+}
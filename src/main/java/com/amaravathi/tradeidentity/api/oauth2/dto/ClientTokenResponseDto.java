@@ -0,0 +1,20 @@
+package com.amaravathi.tradeidentity.api.oauth2.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/** RFC 6749 section 5.1 access token response for the client-credentials grant. */
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientTokenResponseDto {
+    @JsonProperty("access_token") String accessToken;
+    @JsonProperty("token_type") String tokenType;
+    @JsonProperty("expires_in") long expiresIn;
+}
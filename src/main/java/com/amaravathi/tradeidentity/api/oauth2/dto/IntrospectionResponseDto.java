@@ -0,0 +1,38 @@
+package com.amaravathi.tradeidentity.api.oauth2.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/** RFC 7662 introspection response. */
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponseDto {
+    boolean active;
+    String scope;
+    @JsonProperty("token_type") String tokenType;
+    String sub;
+    @JsonProperty("client_id") String clientId;
+    String iss;
+    String jti;
+    Long exp;
+    Long iat;
+    /** How long the caller may cache this answer; never beyond the token's exp. */
+    @JsonIgnore long cacheMaxAgeSeconds;
+
+    public static IntrospectionResponseDto inactive(long cacheMaxAgeSeconds) {
+        return IntrospectionResponseDto.builder()
+                .active(false)
+                .cacheMaxAgeSeconds(cacheMaxAgeSeconds)
+                .build();
+    }
+}
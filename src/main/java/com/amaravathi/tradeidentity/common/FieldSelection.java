@@ -0,0 +1,65 @@
+package com.amaravathi.tradeidentity.common;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Top-level properties requested through a {@code fields=} query parameter, built by
+ * {@link FieldSelector}. Response DTOs opt in with {@code @JsonFilter(FieldSelection.FILTER_ID)};
+ * services use {@link #selected} to fetch only the associations that will be serialized.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER_ID = "fields";
+
+    /** No {@code fields=} parameter: every property is serialized. */
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    /** Nothing selected; for loads that need no associations at all. */
+    public static final FieldSelection NONE = new FieldSelection(Set.of());
+
+    private final Set<String> fields;
+
+    FieldSelection(Set<String> fields) {
+        this.fields = fields == null ? null : Set.copyOf(fields);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /** The candidates that will be serialized, in candidate order. */
+    public Set<String> selected(Collection<String> candidates) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String c : candidates) {
+            if (includes(c)) out.add(c);
+        }
+        return out;
+    }
+
+    /** Same selection plus properties the endpoint always returns. */
+    public FieldSelection with(String... always) {
+        if (fields == null) return this;
+        Set<String> out = new HashSet<>(fields);
+        out.addAll(Set.of(always));
+        return new FieldSelection(out);
+    }
+
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+}
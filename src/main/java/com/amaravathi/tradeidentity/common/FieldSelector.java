@@ -0,0 +1,56 @@
+package com.amaravathi.tradeidentity.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses {@code fields=id,fullName,status} against the JSON property names of a response
+ * type (as Jackson serializes them). Unknown names are a 400, so typos do not silently
+ * produce empty objects.
+ */
+@Component
+public class FieldSelector {
+
+    private static final int MAX_LENGTH = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Set<String>> propertiesByType = new ConcurrentHashMap<>();
+
+    public FieldSelector(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public FieldSelection parse(String fields, Class<?> responseType) {
+        if (fields == null || fields.isBlank()) return FieldSelection.ALL;
+        if (fields.length() > MAX_LENGTH) throw new IllegalArgumentException("fields parameter is too long");
+
+        Set<String> known = propertiesByType.computeIfAbsent(responseType, this::propertiesOf);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String f : fields.split(",")) {
+            String name = f.trim();
+            if (name.isEmpty()) continue;
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', allowed: " + String.join(",", known));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? FieldSelection.ALL : new FieldSelection(selected);
+    }
+
+    private Set<String> propertiesOf(Class<?> type) {
+        Set<String> names = new TreeSet<>();
+        for (BeanPropertyDefinition p : objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type)).findProperties()) {
+            if (p.couldSerialize()) names.add(p.getName());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
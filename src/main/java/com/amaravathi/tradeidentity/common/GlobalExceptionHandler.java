@@ -33,6 +33,21 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiError(OffsetDateTime.now(), 429, "Too Many Requests", ex.getMessage(), req.getRequestURI()));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiError> handleServiceBusy(ServiceBusyException ex, HttpServletRequest req) {
+        log.warn("Shedding request path={} reason={}", req.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiError(OffsetDateTime.now(), 503, "Service Unavailable", ex.getMessage(), req.getRequestURI()));
+    }
+
     @ExceptionHandler({Exception.class, RuntimeException.class, TradeIdentityException.class })
     public ResponseEntity<ApiError> handleGeneric(Exception ex, HttpServletRequest req) {
         log.error(ex.getMessage(), ex);
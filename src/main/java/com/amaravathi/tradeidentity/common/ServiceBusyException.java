@@ -0,0 +1,16 @@
+package com.amaravathi.tradeidentity.common;
+
+/** The request was shed because a bounded resource is saturated; maps to 503 with Retry-After. */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
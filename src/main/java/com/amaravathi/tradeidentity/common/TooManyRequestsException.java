@@ -0,0 +1,16 @@
+package com.amaravathi.tradeidentity.common;
+
+/** The caller exceeded a rate limit; maps to 429 with Retry-After. */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.amaravathi.tradeidentity.config;
+
+import com.amaravathi.tradeidentity.common.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * DTOs carrying the {@link FieldSelection} filter serialize in full unless a request
+     * wraps them with its own selection.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterDefault() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
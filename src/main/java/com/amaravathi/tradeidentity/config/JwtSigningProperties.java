@@ -0,0 +1,37 @@
+package com.amaravathi.tradeidentity.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt.signing")
+@Getter
+@Setter
+public class JwtSigningProperties {
+
+    /** HS256 (shared secret), ES256 or EdDSA (Ed25519). */
+    private String algorithm = "HS256";
+
+    /** Asymmetric key ring; ignored for HS256. */
+    private List<Key> keys = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Key {
+        private String kid;
+        /** PKCS#8, base64 or PEM. Optional for keys that only verify. */
+        private String privateKey;
+        /** X.509 SubjectPublicKeyInfo, base64 or PEM. */
+        private String publicKey;
+        /** Key starts signing at this instant (defaults to immediately). */
+        private Instant activeFrom;
+        /** Key stops signing at this instant; it keeps verifying for one access-token TTL after. */
+        private Instant retireAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.amaravathi.tradeidentity.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Lock stripes; rounded up to a power of two. */
+    private int stripes = 64;
+
+    /** Buckets kept across all stripes before least-recently-used ones are evicted. */
+    private int maxKeys = 100_000;
+
+    /** Per-endpoint limits, keyed by endpoint name (sign-in, sign-up, magic-link, client-token...). */
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        /** Per client IP; null = unlimited. */
+        private Limit ip;
+        /** Per normalized email; null = unlimited. */
+        private Limit email;
+        /** Per OAuth2 client_id (client-credentials grant); null = unlimited. */
+        private Limit client;
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        /** Burst size. */
+        private int capacity;
+        /** Sustained rate. */
+        private double perMinute;
+    }
+}
@@ -1,14 +1,22 @@
 package com.amaravathi.tradeidentity.config;
 
+import com.amaravathi.tradeidentity.security.BoundedPasswordEncoder;
+import com.amaravathi.tradeidentity.security.CompatibleBcryptPasswordEncoder;
 import com.amaravathi.tradeidentity.security.JwtAuthFilter;
+import com.amaravathi.tradeidentity.security.PasswordHashCalibrator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -27,6 +35,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/trade-identity/v1/auth/**").permitAll()
                         .requestMatchers("/api/trade-identity/v1/verify/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/oauth2/token").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
@@ -34,8 +44,35 @@ public class SecurityConfig {
         return http.build();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.passwordHashing.threads}") int threads,
+            @Value("${security.passwordHashing.queueCapacity}") int queueCapacity,
+            @Value("${security.passwordHashing.waitMillis}") long waitMillis,
+            @Value("${security.passwordHashing.retryAfterSeconds}") long retryAfterSeconds,
+            @Value("${security.passwordHashing.targetMillis}") long targetMillis,
+            @Value("${security.passwordHashing.minStrength}") int minStrength,
+            @Value("${security.passwordHashing.maxStrength}") int maxStrength,
+            MeterRegistry meterRegistry
+    ) {
+        int strength = targetMillis > 0
+                ? PasswordHashCalibrator.bcryptStrength(targetMillis, minStrength, maxStrength)
+                : minStrength;
+        Gauge.builder("password.hash.strength", () -> strength).register(meterRegistry);
+
+        // New hashes stay unprefixed bcrypt at the calibrated cost so the previous release can
+        // still read them; "{bcrypt}" hashes still verify and are rewritten on sign-in.
+        PasswordEncoder bcrypt = new CompatibleBcryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity,
+                waitMillis, retryAfterSeconds, meterRegistry);
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(PermissionEvaluator permissionEvaluator) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(permissionEvaluator);
+        return handler;
     }
 }
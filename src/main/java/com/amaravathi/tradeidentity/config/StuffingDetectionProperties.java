@@ -0,0 +1,42 @@
+package com.amaravathi.tradeidentity.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.stuffing-detection")
+@Getter
+@Setter
+public class StuffingDetectionProperties {
+
+    private boolean enabled = true;
+
+    /** Sliding window length and how many sub-windows it is split into. */
+    private int windowMinutes = 10;
+    private int slots = 10;
+
+    /**
+     * Count-min sketch shape per dimension. The width is derived from the failed sign-ins per
+     * window it must absorb and the over-count tolerated at that volume, so attack traffic
+     * cannot push innocent keys over a threshold through collisions alone.
+     */
+    private int depth = 4;
+    private long expectedFailures = 100_000;
+    private long maxOverestimate = 10;
+
+    /** Offenders tracked per dimension; only these can be blocked or throttled. */
+    private int topK = 20;
+
+    /** Failed sign-ins within the window at which a dimension acts on a key; 0 = track only. */
+    private long emailThreshold = 20;
+    private long ipPrefixThreshold = 200;
+    private long userAgentThreshold = 0;
+
+    /**
+     * An email over its threshold is throttled rather than refused, so guessing slows to this
+     * rate while the owner can still sign in (or use a magic link).
+     */
+    private double emailAttemptsPerMinute = 2;
+}
@@ -0,0 +1,51 @@
+package com.amaravathi.tradeidentity.domain.client;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "service_client")
+@Data
+public class ServiceClient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "INTEGER")
+    private int id;
+
+    @Column(name = "client_id", nullable = false, unique = true)
+    private String clientId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "secret_hash", nullable = false)
+    private String secretHash;
+
+    /** Comma-separated role codes granted to the client's tokens. */
+    @Column(name = "role_codes", nullable = false)
+    private String roleCodes;
+
+    @Column(nullable = false)
+    private boolean enabled;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    void prePersist() {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (createdAt == null) createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,15 @@
+package com.amaravathi.tradeidentity.domain.client;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ServiceClientRepository extends JpaRepository<ServiceClient, Integer> {
+
+    Optional<ServiceClient> findByClientId(String clientId);
+
+    @Query("select c.enabled from ServiceClient c where c.clientId = :clientId")
+    Optional<Boolean> findEnabledByClientId(@Param("clientId") String clientId);
+}
@@ -0,0 +1,173 @@
+package com.amaravathi.tradeidentity.domain.client;
+
+import com.amaravathi.tradeidentity.api.oauth2.dto.ClientTokenResponseDto;
+import com.amaravathi.tradeidentity.common.TradeIdentityException;
+import com.amaravathi.tradeidentity.security.JwtTokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Client-credentials grant for service accounts.
+ * <p>
+ * The bcrypt check runs once per client: afterwards the SHA-256 of the verified secret is
+ * cached and later requests compare against it in constant time. Issued tokens are reused
+ * for the first half of their lifetime, so a chatty caller does not mint a token per call.
+ * Both caches are dropped as soon as the client is seen disabled.
+ */
+@Service
+@Slf4j
+public class ServiceClientService {
+
+    private record VerifiedClient(byte[] secretDigest, List<String> roleCodes) {
+    }
+
+    private record IssuedToken(String accessToken, Instant expiresAt) {
+    }
+
+    private final ServiceClientRepository clientRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenService jwtTokenService;
+    private final long accessTtlSeconds;
+
+    private final Cache<String, VerifiedClient> verifiedCredentials;
+    private final Cache<String, IssuedToken> issuedTokens;
+    private final LoadingCache<String, Boolean> enabledClients;
+
+    public ServiceClientService(
+            ServiceClientRepository clientRepo,
+            PasswordEncoder passwordEncoder,
+            JwtTokenService jwtTokenService,
+            @Value("${security.clients.accessTtlMinutes}") long accessTtlMinutes,
+            @Value("${security.clients.credentialCacheMinutes}") long credentialCacheMinutes,
+            @Value("${security.clients.statusCacheSeconds}") long statusCacheSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.clientRepo = clientRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTokenService = jwtTokenService;
+        this.accessTtlSeconds = accessTtlMinutes * 60;
+
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(credentialCacheMinutes))
+                .recordStats()
+                .build();
+        this.issuedTokens = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(accessTtlSeconds / 2))
+                .recordStats()
+                .build();
+        this.enabledClients = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(statusCacheSeconds))
+                .build(this::loadEnabled);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedCredentials, "client.credentials");
+        CaffeineCacheMetrics.monitor(meterRegistry, issuedTokens, "client.tokens");
+    }
+
+    // ------------------ TOKEN ------------------
+
+    public ClientTokenResponseDto issueToken(String clientId, String clientSecret) {
+        if (clientId == null || clientId.isBlank() || clientSecret == null || clientSecret.isBlank()) {
+            throw new IllegalArgumentException("Invalid client credentials");
+        }
+
+        VerifiedClient client = authenticate(clientId, clientSecret);
+
+        IssuedToken token = issuedTokens.get(clientId, id -> {
+            String jwt = jwtTokenService.generateClientAccessToken(id, client.roleCodes(), accessTtlSeconds);
+            log.info("Client access token issued clientId={}", id);
+            return new IssuedToken(jwt, Instant.now().plusSeconds(accessTtlSeconds));
+        });
+
+        return ClientTokenResponseDto.builder()
+                .accessToken(token.accessToken())
+                .tokenType("Bearer")
+                .expiresIn(Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toSeconds()))
+                .build();
+    }
+
+    /** Whether tokens of this client are still honoured; re-read from the DB at most every statusCacheSeconds. */
+    public boolean isEnabled(String clientId) {
+        boolean enabled = enabledClients.get(clientId);
+        if (!enabled) {
+            verifiedCredentials.invalidate(clientId);
+            issuedTokens.invalidate(clientId);
+        }
+        return enabled;
+    }
+
+    // ------------------ helper ------------------
+
+    private VerifiedClient authenticate(String clientId, String clientSecret) {
+        if (!isEnabled(clientId)) {
+            log.warn("Client token rejected: unknown or disabled clientId={}", clientId);
+            throw new IllegalArgumentException("Invalid client credentials");
+        }
+
+        byte[] digest = sha256(clientSecret);
+        VerifiedClient cached = verifiedCredentials.getIfPresent(clientId);
+        if (cached != null && MessageDigest.isEqual(cached.secretDigest(), digest)) {
+            return cached;
+        }
+
+        ServiceClient client;
+        try {
+            client = clientRepo.findByClientId(clientId).orElse(null);
+        } catch (DataAccessException dae) {
+            log.error("Database error while loading service client clientId={}", clientId, dae);
+            throw new TradeIdentityException("Database error while loading service client", dae);
+        }
+
+        if (client == null || !client.isEnabled() || !passwordEncoder.matches(clientSecret, client.getSecretHash())) {
+            log.warn("Client token rejected: bad credentials clientId={}", clientId);
+            throw new IllegalArgumentException("Invalid client credentials");
+        }
+
+        VerifiedClient verified = new VerifiedClient(digest, parseRoleCodes(client.getRoleCodes()));
+        verifiedCredentials.put(clientId, verified);
+        return verified;
+    }
+
+    private Boolean loadEnabled(String clientId) {
+        try {
+            return clientRepo.findEnabledByClientId(clientId).orElse(false);
+        } catch (DataAccessException dae) {
+            log.error("Database error while loading service client status clientId={}", clientId, dae);
+            throw new TradeIdentityException("Database error while loading service client", dae);
+        }
+    }
+
+    private static List<String> parseRoleCodes(String roleCodes) {
+        if (roleCodes == null || roleCodes.isBlank()) return List.of();
+        return Arrays.stream(roleCodes.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import com.amaravathi.tradeidentity.common.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Asynchronous delivery pipeline in front of the active {@link EmailSender}.
+ * <p>
+ * Messages go into a bounded queue; a full queue fails the returned future with
+ * {@link ServiceBusyException} instead of blocking the caller. A fixed set of dedicated
+ * worker threads (the per-provider concurrency limit) each drain up to {@code batchSize}
+ * messages and send them over one provider connection. When a batch fails part-way, the
+ * delivered head is completed, the failing message is retried with exponential backoff
+ * until {@code maxAttempts}, and the messages behind it are requeued after the base backoff.
+ */
+@Component
+@Slf4j
+public class EmailDispatcher {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final EmailSender sender;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean running = true;
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer batchTimer;
+
+    public EmailDispatcher(
+            EmailSender sender,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.queueCapacity}") int queueCapacity,
+            @Value("${app.email.batchSize}") int batchSize,
+            @Value("${app.email.concurrency}") int concurrency,
+            @Value("${app.email.maxAttempts}") int maxAttempts,
+            @Value("${app.email.backoffMillis}") long backoffMillis
+    ) {
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+
+        this.sent = Counter.builder("email.sent").register(meterRegistry);
+        this.failed = Counter.builder("email.failed").register(meterRegistry);
+        this.rejected = Counter.builder("email.rejected").register(meterRegistry);
+        this.batchTimer = Timer.builder("email.batch").register(meterRegistry);
+        Gauge.builder("email.queue", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "email-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 1; i <= concurrency; i++) {
+            Thread t = new Thread(this::work, "email-sender-" + i);
+            t.setDaemon(true);
+            t.start();
+            workers.add(t);
+        }
+
+        log.info("Email dispatcher sender={} queueCapacity={} batchSize={} concurrency={}",
+                sender.getClass().getSimpleName(), queueCapacity, batchSize, concurrency);
+    }
+
+    /** Queues the message; the future completes once the provider accepted it, or failed for good. */
+    public CompletableFuture<Void> submit(EmailMessage message) {
+        Pending p = new Pending(message);
+        if (!running || !queue.offer(p)) {
+            rejected.increment();
+            p.future.completeExceptionally(new ServiceBusyException("Email queue is full", RETRY_AFTER_SECONDS));
+        }
+        return p.future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        retryScheduler.shutdownNow();
+
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(p -> p.future.completeExceptionally(new IllegalStateException("Email dispatcher stopped")));
+        if (!left.isEmpty()) log.warn("Email dispatcher stopped with undelivered messages={}", left.size());
+    }
+
+    // ------------------ worker ------------------
+
+    private void work() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Email worker error, batch dropped size={}", batch.size(), e);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        List<EmailMessage> messages = new ArrayList<>(batch.size());
+        for (Pending p : batch) messages.add(p.message);
+
+        int delivered;
+        Exception error = null;
+        long start = System.nanoTime();
+        try {
+            sender.send(messages);
+            delivered = batch.size();
+        } catch (EmailSendException e) {
+            // A failure always leaves at least one message undelivered
+            delivered = Math.max(0, Math.min(e.delivered(), batch.size() - 1));
+            error = e;
+        } catch (RuntimeException e) {
+            delivered = 0;
+            error = e;
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        for (int i = 0; i < delivered; i++) batch.get(i).future.complete(null);
+        sent.increment(delivered);
+        if (error == null) return;
+
+        Pending failing = batch.get(delivered);
+        log.warn("Email batch failed size={} delivered={} to={} attempt={}",
+                batch.size(), delivered, failing.message.to(), failing.attempts + 1, error);
+        retry(failing, error, true);
+        for (int i = delivered + 1; i < batch.size(); i++) retry(batch.get(i), error, false);
+    }
+
+    private void retry(Pending p, Exception cause, boolean charge) {
+        if (charge && ++p.attempts >= maxAttempts) {
+            failed.increment();
+            p.future.completeExceptionally(cause);
+            return;
+        }
+        long delay = charge ? backoffMillis << Math.min(p.attempts - 1, 10) : backoffMillis;
+        try {
+            retryScheduler.schedule(() -> requeue(p), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            p.future.completeExceptionally(cause);
+        }
+    }
+
+    private void requeue(Pending p) {
+        if (!queue.offer(p)) {
+            rejected.increment();
+            p.future.completeExceptionally(new ServiceBusyException("Email queue is full", RETRY_AFTER_SECONDS));
+        }
+    }
+
+    private static final class Pending {
+        final EmailMessage message;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        int attempts;
+
+        Pending(EmailMessage message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+/** A rendered plain-text email, ready to hand to an {@link EmailSender}. */
+public record EmailMessage(
+        String to,
+        String subject,
+        String body
+) {
+}
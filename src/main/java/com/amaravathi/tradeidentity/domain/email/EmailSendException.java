@@ -0,0 +1,19 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+/**
+ * A batch send failed part-way. {@link #delivered()} counts the leading messages that were
+ * accepted by the provider before the failure, so only the rest are retried.
+ */
+public class EmailSendException extends Exception {
+
+    private final int delivered;
+
+    public EmailSendException(String message, int delivered, Throwable cause) {
+        super(message, cause);
+        this.delivered = delivered;
+    }
+
+    public int delivered() {
+        return delivered;
+    }
+}
@@ -0,0 +1,13 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import java.util.List;
+
+/**
+ * Email provider. Called by {@link EmailDispatcher} workers only, never from request threads;
+ * at most {@code app.email.concurrency} calls run at the same time.
+ */
+public interface EmailSender {
+
+    /** Sends the batch in order, reusing one provider connection for all of it. */
+    void send(List<EmailMessage> batch) throws EmailSendException;
+}
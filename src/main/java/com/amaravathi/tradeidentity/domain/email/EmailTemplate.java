@@ -0,0 +1,90 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain-text template with {@code {{name}}} placeholders, split into literal and variable
+ * segments once at load time so rendering is a single pass of appends.
+ * <p>
+ * Source format: a {@code Subject: ...} first line, a blank line, then the body.
+ */
+public final class EmailTemplate {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final String name;
+    private final Text subject;
+    private final Text body;
+
+    private EmailTemplate(String name, Text subject, Text body) {
+        this.name = name;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public static EmailTemplate compile(String name, String source) {
+        String normalized = source.replace("\r\n", "\n");
+        int firstBreak = normalized.indexOf('\n');
+        if (!normalized.startsWith(SUBJECT_PREFIX) || firstBreak < 0) {
+            throw new IllegalStateException("Email template " + name + " must start with a Subject: line");
+        }
+        String subject = normalized.substring(SUBJECT_PREFIX.length(), firstBreak).trim();
+        String body = normalized.substring(firstBreak + 1);
+        if (body.startsWith("\n")) body = body.substring(1);
+        return new EmailTemplate(name, Text.compile(name, subject), Text.compile(name, body));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public EmailMessage render(String to, Map<String, String> values) {
+        return new EmailMessage(to, subject.render(name, values), body.render(name, values));
+    }
+
+    // ------------------ helper ------------------
+
+    /** literals.length == vars.length + 1; output is literals[0] vars[0] literals[1] ... */
+    private record Text(String[] literals, String[] vars, int literalLength) {
+
+        static Text compile(String template, String src) {
+            List<String> literals = new ArrayList<>();
+            List<String> vars = new ArrayList<>();
+            int length = 0;
+            int i = 0;
+            while (true) {
+                int open = src.indexOf("{{", i);
+                if (open < 0) break;
+                int close = src.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw new IllegalStateException("Unclosed placeholder in email template " + template);
+                }
+                String literal = src.substring(i, open);
+                literals.add(literal);
+                length += literal.length();
+                vars.add(src.substring(open + 2, close).trim());
+                i = close + 2;
+            }
+            String tail = src.substring(i);
+            literals.add(tail);
+            length += tail.length();
+            return new Text(literals.toArray(String[]::new), vars.toArray(String[]::new), length);
+        }
+
+        String render(String template, Map<String, String> values) {
+            if (vars.length == 0) return literals[0];
+
+            StringBuilder sb = new StringBuilder(literalLength + 64 * vars.length);
+            for (int k = 0; k < vars.length; k++) {
+                String value = values.get(vars[k]);
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing value for " + vars[k] + " in email template " + template);
+                }
+                sb.append(literals[k]).append(value);
+            }
+            return sb.append(literals[vars.length]).toString();
+        }
+    }
+}
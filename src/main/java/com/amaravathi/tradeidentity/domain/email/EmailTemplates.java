@@ -0,0 +1,48 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Compiles the templates under {@code classpath:email/} at startup; a broken template fails the boot. */
+@Component
+@Slf4j
+public class EmailTemplates {
+
+    public static final String VERIFY_EMAIL = "verify-email";
+    public static final String LOGIN_LINK = "login-link";
+
+    private static final List<String> NAMES = List.of(VERIFY_EMAIL, LOGIN_LINK);
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    public EmailTemplates() {
+        for (String name : NAMES) {
+            templates.put(name, EmailTemplate.compile(name, load(name)));
+        }
+        log.info("Email templates compiled={}", templates.keySet());
+    }
+
+    public EmailTemplate get(String name) {
+        EmailTemplate t = templates.get(name);
+        if (t == null) throw new IllegalArgumentException("Unknown email template " + name);
+        return t;
+    }
+
+    // ------------------ helper ------------------
+
+    private static String load(String name) {
+        try (InputStream in = new ClassPathResource("email/" + name + ".txt").getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read email template " + name, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Local stand-in used when no mail provider is configured: accepts every message and logs
+ * the recipient and subject only (bodies carry one-time links).
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingEmailSender implements EmailSender {
+
+    @Override
+    public void send(List<EmailMessage> batch) {
+        for (EmailMessage m : batch) {
+            log.info("Email (log provider) to={} subject={} bodyLength={}", m.to(), m.subject(), m.body().length());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * SMTP provider on top of the {@code spring.mail.*} session. Unlike
+ * {@link JavaMailSenderImpl#send}, which opens and closes a connection per call, connections
+ * are kept open between batches and handed back to an idle pool; a connection that fails or
+ * no longer answers NOOP is closed and replaced.
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "smtp")
+@Slf4j
+public class SmtpEmailSender implements EmailSender {
+
+    private final JavaMailSenderImpl mailSender;
+    private final InternetAddress from;
+    private final BlockingQueue<Transport> idle = new LinkedBlockingQueue<>();
+
+    public SmtpEmailSender(
+            JavaMailSenderImpl mailSender,
+            @Value("${app.email.from}") String from
+    ) throws AddressException {
+        this.mailSender = mailSender;
+        this.from = new InternetAddress(from, true);
+        log.info("SMTP email sender host={} port={}", mailSender.getHost(), mailSender.getPort());
+    }
+
+    @Override
+    public void send(List<EmailMessage> batch) throws EmailSendException {
+        Transport transport = null;
+        int delivered = 0;
+        try {
+            transport = connection();
+            for (EmailMessage m : batch) {
+                MimeMessage mime = toMime(m);
+                transport.sendMessage(mime, mime.getAllRecipients());
+                delivered++;
+            }
+            idle.offer(transport);
+        } catch (MessagingException e) {
+            close(transport);
+            throw new EmailSendException("SMTP send failed", delivered, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Transport t;
+        while ((t = idle.poll()) != null) close(t);
+    }
+
+    // ------------------ helper ------------------
+
+    private Transport connection() throws MessagingException {
+        Transport t;
+        while ((t = idle.poll()) != null) {
+            if (t.isConnected()) return t;
+            close(t);
+        }
+        String protocol = mailSender.getProtocol() == null ? "smtp" : mailSender.getProtocol();
+        t = mailSender.getSession().getTransport(protocol);
+        t.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return t;
+    }
+
+    private MimeMessage toMime(EmailMessage m) throws MessagingException {
+        MimeMessage mime = new MimeMessage(mailSender.getSession());
+        mime.setFrom(from);
+        mime.setRecipient(Message.RecipientType.TO, new InternetAddress(m.to(), true));
+        mime.setSubject(m.subject(), StandardCharsets.UTF_8.name());
+        mime.setText(m.body(), StandardCharsets.UTF_8.name());
+        mime.setSentDate(new Date());
+        mime.saveChanges();
+        return mime;
+    }
+
+    private void close(Transport t) {
+        if (t == null) return;
+        try {
+            t.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.amaravathi.tradeidentity.domain.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+
+    private static final RowMapper<StoredResponse> ROW_MAPPER = (rs, i) -> new StoredResponse(
+            rs.getString("request_hash"),
+            (Integer) rs.getObject("status_code"),
+            rs.getString("content_type"),
+            rs.getBytes("body"));
+
+    /**
+     * Claims the key: inserts an in-progress row, or takes over a row that has expired or whose
+     * owner stopped without finishing (lease passed). Exactly one concurrent caller gets 1.
+     */
+    private static final String BEGIN = """
+        insert into idempotency_key (key_hash, request_hash, locked_until, expires_at, created_at)
+        values (:key, :requestHash, now() + make_interval(secs => :leaseSeconds),
+                now() + make_interval(hours => :ttlHours), now())
+        on conflict (key_hash) do update
+        set request_hash = excluded.request_hash,
+            status_code = null, content_type = null, body = null,
+            locked_until = excluded.locked_until,
+            expires_at = excluded.expires_at,
+            created_at = excluded.created_at
+        where idempotency_key.expires_at < now()
+           or (idempotency_key.status_code is null and idempotency_key.locked_until < now())
+        """;
+
+    private static final String FIND = """
+        select request_hash, status_code, content_type, body
+        from idempotency_key
+        where key_hash = :key and expires_at > now()
+        """;
+
+    private static final String COMPLETE = """
+        update idempotency_key
+        set status_code = :status, content_type = :contentType, body = :body, locked_until = null
+        where key_hash = :key and status_code is null
+        """;
+
+    private static final String RELEASE = """
+        delete from idempotency_key where key_hash = :key and status_code is null
+        """;
+
+    private static final String PURGE_EXPIRED = """
+        delete from idempotency_key where expires_at < now()
+        """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public boolean tryBegin(String key, String requestHash, long leaseSeconds, int ttlHours) {
+        return jdbc.update(BEGIN, new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("requestHash", requestHash)
+                .addValue("leaseSeconds", (double) leaseSeconds)
+                .addValue("ttlHours", ttlHours)) == 1;
+    }
+
+    public Optional<StoredResponse> find(String key) {
+        List<StoredResponse> rows = jdbc.query(FIND, new MapSqlParameterSource("key", key), ROW_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public void complete(String key, int status, String contentType, byte[] body) {
+        jdbc.update(COMPLETE, new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("status", status)
+                .addValue("contentType", contentType)
+                .addValue("body", body));
+    }
+
+    public void release(String key) {
+        jdbc.update(RELEASE, new MapSqlParameterSource("key", key));
+    }
+
+    public int purgeExpired() {
+        return jdbc.update(PURGE_EXPIRED, new MapSqlParameterSource());
+    }
+}
@@ -0,0 +1,99 @@
+package com.amaravathi.tradeidentity.domain.idempotency;
+
+import com.amaravathi.tradeidentity.common.ServiceBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-level store behind {@code Idempotency-Key}: a bounded in-memory map of requests in
+ * flight on this node, so local retries wait for the first attempt instead of re-running it,
+ * and the {@code idempotency_key} table, which claims keys across nodes and keeps completed
+ * responses for {@code ttlHours} so later retries are replayed.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final IdempotencyRepository repo;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final long leaseSeconds;
+    private final int ttlHours;
+
+    public IdempotencyStore(
+            IdempotencyRepository repo,
+            @Value("${security.idempotency.maxInFlight}") int maxInFlight,
+            @Value("${security.idempotency.leaseSeconds}") long leaseSeconds,
+            @Value("${security.idempotency.ttlHours}") int ttlHours
+    ) {
+        this.repo = repo;
+        this.maxInFlight = maxInFlight;
+        this.leaseSeconds = leaseSeconds;
+        this.ttlHours = ttlHours;
+    }
+
+    // ------------------ IN FLIGHT (this node) ------------------
+
+    /**
+     * Registers {@code mine} for the key. Returns null if this caller now owns the key, or the
+     * first caller's future to wait on. The future completes with the stored response, or
+     * null when the first attempt produced nothing replayable.
+     */
+    public CompletableFuture<StoredResponse> joinInFlight(String key, CompletableFuture<StoredResponse> mine) {
+        CompletableFuture<StoredResponse> existing = inFlight.get(key);
+        if (existing != null) return existing;
+        if (inFlight.size() >= maxInFlight) {
+            throw new ServiceBusyException("Too many idempotent requests in flight, please retry", RETRY_AFTER_SECONDS);
+        }
+        return inFlight.putIfAbsent(key, mine);
+    }
+
+    public void leaveInFlight(String key, CompletableFuture<StoredResponse> mine) {
+        inFlight.remove(key, mine);
+    }
+
+    // ------------------ PERSISTED ------------------
+
+    public boolean tryBegin(String key, String requestHash) {
+        return repo.tryBegin(key, requestHash, leaseSeconds, ttlHours);
+    }
+
+    public Optional<StoredResponse> find(String key) {
+        return repo.find(key);
+    }
+
+    public void complete(String key, int status, String contentType, byte[] body) {
+        repo.complete(key, status, contentType, body);
+    }
+
+    /** Drops an unfinished claim so the next retry runs the request again. */
+    public void release(String key) {
+        try {
+            repo.release(key);
+        } catch (DataAccessException dae) {
+            // The lease expires on its own
+            log.warn("Failed to release idempotency key", dae);
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purgeExpired() {
+        try {
+            int purged = repo.purgeExpired();
+            if (purged > 0) log.info("Idempotency keys purged={}", purged);
+        } catch (DataAccessException dae) {
+            log.warn("Idempotency key purge failed", dae);
+        }
+    }
+}
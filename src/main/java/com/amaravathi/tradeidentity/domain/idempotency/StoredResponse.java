@@ -0,0 +1,16 @@
+package com.amaravathi.tradeidentity.domain.idempotency;
+
+/**
+ * Row of {@code idempotency_key}. {@code status} is null while the first request is still
+ * running; otherwise it is the response to replay for retries with the same key.
+ */
+public record StoredResponse(
+        String requestHash,
+        Integer status,
+        String contentType,
+        byte[] body
+) {
+    public boolean isComplete() {
+        return status != null;
+    }
+}
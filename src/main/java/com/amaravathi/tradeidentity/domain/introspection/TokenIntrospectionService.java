@@ -0,0 +1,141 @@
+package com.amaravathi.tradeidentity.domain.introspection;
+
+import com.amaravathi.tradeidentity.api.oauth2.dto.IntrospectionResponseDto;
+import com.amaravathi.tradeidentity.domain.refresh.RefreshToken;
+import com.amaravathi.tradeidentity.domain.refresh.RefreshTokenService;
+import com.amaravathi.tradeidentity.domain.user.UserStatus;
+import com.amaravathi.tradeidentity.domain.user.UserStatusIndex;
+import com.amaravathi.tradeidentity.security.AccessTokenClaims;
+import com.amaravathi.tradeidentity.security.AccessTokenGuard;
+import com.amaravathi.tradeidentity.security.JwtTokenService;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * RFC 7662 token introspection. Access tokens are answered locally (signature plus the
+ * in-memory revocation checks); opaque refresh tokens are resolved with one set-based query
+ * per call, however many are in the batch.
+ */
+@Service
+@Slf4j
+public class TokenIntrospectionService {
+
+    private final JwtTokenService jwtTokenService;
+    private final AccessTokenGuard accessTokenGuard;
+    private final RefreshTokenService refreshTokenService;
+    private final UserStatusIndex userStatusIndex;
+    private final String issuer;
+    private final long maxCacheSeconds;
+
+    public TokenIntrospectionService(
+            JwtTokenService jwtTokenService,
+            AccessTokenGuard accessTokenGuard,
+            RefreshTokenService refreshTokenService,
+            UserStatusIndex userStatusIndex,
+            @Value("${security.jwt.issuer}") String issuer,
+            @Value("${security.introspection.maxCacheSeconds}") long maxCacheSeconds
+    ) {
+        this.jwtTokenService = jwtTokenService;
+        this.accessTokenGuard = accessTokenGuard;
+        this.refreshTokenService = refreshTokenService;
+        this.userStatusIndex = userStatusIndex;
+        this.issuer = issuer;
+        this.maxCacheSeconds = maxCacheSeconds;
+    }
+
+    public IntrospectionResponseDto introspect(String token) {
+        return introspectAll(Collections.singletonList(token)).get(0);
+    }
+
+    public List<IntrospectionResponseDto> introspectAll(List<String> tokens) {
+        log.debug("Introspecting {} tokens", tokens.size());
+
+        Instant now = Instant.now();
+        IntrospectionResponseDto[] results = new IntrospectionResponseDto[tokens.size()];
+        List<String> refreshTokens = new ArrayList<>();
+
+        for (int i = 0; i < results.length; i++) {
+            String token = tokens.get(i);
+            if (token == null || token.isBlank()) {
+                results[i] = IntrospectionResponseDto.inactive(maxCacheSeconds);
+            } else if (isJwt(token)) {
+                results[i] = introspectAccessToken(token, now);
+            } else {
+                refreshTokens.add(token);
+            }
+        }
+
+        Map<String, RefreshToken> valid = refreshTokenService.findValid(refreshTokens);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = refreshTokenResult(valid.get(tokens.get(i)), now);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // ------------------ helper ------------------
+
+    private IntrospectionResponseDto introspectAccessToken(String token, Instant now) {
+        AccessTokenClaims claims;
+        try {
+            claims = jwtTokenService.verifyAccessToken(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return IntrospectionResponseDto.inactive(maxCacheSeconds);
+        }
+
+        if (!accessTokenGuard.isUsable(claims)) {
+            return IntrospectionResponseDto.inactive(maxCacheSeconds);
+        }
+
+        return IntrospectionResponseDto.builder()
+                .active(true)
+                .tokenType("access_token")
+                .sub(claims.subject())
+                .clientId(claims.clientId())
+                .iss(issuer)
+                .jti(claims.jti())
+                .scope(String.join(" ", claims.roles()))
+                .iat(claims.issuedAt() == null ? null : claims.issuedAt().getEpochSecond())
+                .exp(claims.expiresAt().getEpochSecond())
+                .cacheMaxAgeSeconds(cacheSeconds(claims.expiresAt(), now))
+                .build();
+    }
+
+    private IntrospectionResponseDto refreshTokenResult(RefreshToken t, Instant now) {
+        if (t == null) {
+            return IntrospectionResponseDto.inactive(maxCacheSeconds);
+        }
+        UserStatus status = userStatusIndex.statusOf(t.getUserId());
+        if (status == null || status == UserStatus.DISABLED) {
+            return IntrospectionResponseDto.inactive(maxCacheSeconds);
+        }
+
+        Instant exp = t.getExpiresAt().toInstant();
+        return IntrospectionResponseDto.builder()
+                .active(true)
+                .tokenType("refresh_token")
+                .sub(String.valueOf(t.getUserId()))
+                .iss(issuer)
+                .iat(t.getCreatedAt() == null ? null : t.getCreatedAt().toEpochSecond())
+                .exp(exp.getEpochSecond())
+                .cacheMaxAgeSeconds(cacheSeconds(exp, now))
+                .build();
+    }
+
+    private long cacheSeconds(Instant expiresAt, Instant now) {
+        long remaining = expiresAt.getEpochSecond() - now.getEpochSecond();
+        return Math.max(0, Math.min(maxCacheSeconds, remaining));
+    }
+
+    private static boolean isJwt(String token) {
+        // Our refresh tokens are opaque base64url; JWS compact form always has two dots
+        int first = token.indexOf('.');
+        return first > 0 && token.indexOf('.', first + 1) > first;
+    }
+}
@@ -0,0 +1,45 @@
+package com.amaravathi.tradeidentity.domain.magic;
+
+import com.amaravathi.tradeidentity.domain.outbox.OutboxEvent;
+import com.amaravathi.tradeidentity.domain.outbox.OutboxEventHandler;
+import com.amaravathi.tradeidentity.domain.outbox.OutboxEventType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the sign-up verification link once the user row has committed. Waits for the
+ * provider to accept the email, so a failed delivery leaves the event to be retried.
+ */
+@Component
+public class EmailVerifyOutboxHandler implements OutboxEventHandler {
+
+    private final MagicLinkService magicLinkService;
+    private final ObjectMapper objectMapper;
+    private final long sendTimeoutSeconds;
+
+    public EmailVerifyOutboxHandler(
+            MagicLinkService magicLinkService,
+            ObjectMapper objectMapper,
+            @Value("${app.email.sendTimeoutSeconds}") long sendTimeoutSeconds
+    ) {
+        this.magicLinkService = magicLinkService;
+        this.objectMapper = objectMapper;
+        this.sendTimeoutSeconds = sendTimeoutSeconds;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventType.EMAIL_VERIFY_REQUESTED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.payload());
+        magicLinkService.sendEmailVerifyLink(payload.path("email").asText(), null)
+                .get(sendTimeoutSeconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,5 @@
+package com.amaravathi.tradeidentity.domain.magic;
+
+/** Owner of a consumed login token, with the token version the new access token must carry. */
+public record LoginTokenOwner(int userId, int tokenVersion) {
+}
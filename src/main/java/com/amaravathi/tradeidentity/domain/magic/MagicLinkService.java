@@ -2,9 +2,14 @@ package com.amaravathi.tradeidentity.domain.magic;
 
 import com.amaravathi.tradeidentity.common.ResourceNotFoundException;
 import com.amaravathi.tradeidentity.common.TradeIdentityException;
+import com.amaravathi.tradeidentity.domain.email.EmailDispatcher;
+import com.amaravathi.tradeidentity.domain.email.EmailMessage;
+import com.amaravathi.tradeidentity.domain.email.EmailTemplates;
 import com.amaravathi.tradeidentity.domain.user.AppUser;
 import com.amaravathi.tradeidentity.domain.user.AppUserRepository;
 import com.amaravathi.tradeidentity.domain.user.UserStatus;
+import com.amaravathi.tradeidentity.domain.user.UserStatusIndex;
+import com.amaravathi.tradeidentity.security.EmailDomainFilter;
 import com.amaravathi.tradeidentity.util.TokenGenerator;
 import com.amaravathi.tradeidentity.util.TokenHash;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +17,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -22,51 +33,68 @@ public class MagicLinkService {
 
     private final MagicLinkTokenRepository repo;
     private final AppUserRepository userRepo;
+    private final UserStatusIndex userStatusIndex;
+    private final EmailDispatcher emailDispatcher;
+    private final EmailTemplates emailTemplates;
+    private final EmailDomainFilter emailDomainFilter;
+    private final TransactionTemplate tx;
 
     private final String frontendBaseUrl;
     private final long ttlMinutes;
+    private final long loginTtlMinutes;
 
     public MagicLinkService(
             MagicLinkTokenRepository repo,
             AppUserRepository userRepo,
+            UserStatusIndex userStatusIndex,
+            EmailDispatcher emailDispatcher,
+            EmailTemplates emailTemplates,
+            EmailDomainFilter emailDomainFilter,
+            PlatformTransactionManager transactionManager,
             @Value("${app.frontendBaseUrl}") String frontendBaseUrl,
-            @Value("${security.magicLink.ttlMinutes}") long ttlMinutes
+            @Value("${security.magicLink.ttlMinutes}") long ttlMinutes,
+            @Value("${security.magicLink.loginTtlMinutes}") long loginTtlMinutes
     ) {
         this.repo = repo;
         this.userRepo = userRepo;
+        this.userStatusIndex = userStatusIndex;
+        this.emailDispatcher = emailDispatcher;
+        this.emailTemplates = emailTemplates;
+        this.emailDomainFilter = emailDomainFilter;
+        this.tx = new TransactionTemplate(transactionManager);
         this.frontendBaseUrl = frontendBaseUrl;
         this.ttlMinutes = ttlMinutes;
+        this.loginTtlMinutes = loginTtlMinutes;
     }
 
     // ------------------ SEND VERIFY LINK ------------------
 
-    @Transactional
-    public void sendEmailVerifyLink(String email, String redirectUrl) {
+    /**
+     * Stores a verify token and queues the email once the token row has committed. The
+     * returned future completes when the provider accepted the email (or immediately when
+     * there is no such user); request threads do not wait on it. Input and domain checks run
+     * before the transaction, so a rejected request never borrows a pooled connection.
+     */
+    public CompletableFuture<Void> sendEmailVerifyLink(String email, String redirectUrl) {
         if (email == null || email.isBlank()) {
             throw new IllegalArgumentException("Email is required");
         }
+        emailDomainFilter.requireAllowed(email);
 
         log.info("Sending email verification link email={}", email);
 
+        CompletableFuture<Void> sent = new CompletableFuture<>();
         try {
-            userRepo.findByEmailIgnoreCase(email.trim()).ifPresentOrElse(user -> {
-
-                String raw = TokenGenerator.opaqueToken();
-                String hash = TokenHash.sha256(raw);
-
-                MagicLinkToken t = new MagicLinkToken();
-                t.setUserId(user.getId());
-                t.setPurpose(MagicLinkPurpose.EMAIL_VERIFY);
-                t.setTokenHash(hash);
-                t.setExpiresAt(OffsetDateTime.now().plusMinutes(ttlMinutes));
-                t.setRedirectUrl(redirectUrl);
+            tx.executeWithoutResult(status -> userRepo.findByEmailIgnoreCase(email.trim()).ifPresentOrElse(user -> {
 
-                repo.save(t);
+                String raw = saveToken(user.getId(), MagicLinkPurpose.EMAIL_VERIFY, ttlMinutes, redirectUrl);
 
                 // Build link (do NOT log token in real environments)
                 String link = frontendBaseUrl + "/verify-email?token=" + raw;
 
-                // TODO: send email using actual email provider
+                EmailMessage message = emailTemplates.get(EmailTemplates.VERIFY_EMAIL).render(user.getEmail(),
+                        Map.of("link", link, "ttlMinutes", String.valueOf(ttlMinutes)));
+                sendAfterCommit(message, sent);
                 log.debug("Magic link generated for email={} userId={} ttlMinutes={}",
                         email, user.getId(), ttlMinutes);
 
@@ -77,7 +105,9 @@ public class MagicLinkService {
                 // Your current behavior is silent no-op.
                 // This is often preferred to avoid user enumeration.
                 log.info("Email verification link requested for non-existing email={}", email);
-            });
+                sent.complete(null);
+            }));
+            return sent;
 
         } catch (DataIntegrityViolationException dive) {
             log.error("Integrity violation while creating magic link token email={}", email, dive);
@@ -89,6 +119,82 @@ public class MagicLinkService {
         }
     }
 
+    // ------------------ PASSWORDLESS LOGIN ------------------
+
+    /**
+     * Emails a one-time login link. Unknown and disabled users get the same silent no-op,
+     * so the endpoint does not reveal which emails are registered. As with verify links, the
+     * domain check runs before the transaction.
+     */
+    public CompletableFuture<Void> sendLoginLink(String email, String redirectUrl) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("Email is required");
+        }
+        emailDomainFilter.requireAllowed(email);
+
+        log.info("Sending passwordless login link email={}", email);
+
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        try {
+            tx.executeWithoutResult(status -> {
+                AppUser user = userRepo.findByEmailIgnoreCase(email.trim()).orElse(null);
+                if (user == null || user.getStatus() == UserStatus.DISABLED) {
+                    log.info("Login link requested for unknown or disabled email={}", email);
+                    sent.complete(null);
+                    return;
+                }
+
+                String raw = saveToken(user.getId(), MagicLinkPurpose.PASSWORDLESS_LOGIN, loginTtlMinutes, redirectUrl);
+                String link = frontendBaseUrl + "/magic-login?token=" + raw;
+
+                EmailMessage message = emailTemplates.get(EmailTemplates.LOGIN_LINK).render(user.getEmail(),
+                        Map.of("link", link, "ttlMinutes", String.valueOf(loginTtlMinutes)));
+                sendAfterCommit(message, sent);
+                log.debug("LOGIN LINK (dev only) email={} link={}", email, maskTokenInUrl(link));
+            });
+            return sent;
+
+        } catch (DataAccessException dae) {
+            log.error("Database error while creating login link token email={}", email, dae);
+            throw new TradeIdentityException("Database error while sending login link", dae);
+        }
+    }
+
+    /**
+     * Consumes a login token and returns its owner. The token is claimed by one conditional
+     * update, so two concurrent clicks cannot both get a session; no password hash is involved.
+     */
+    @Transactional
+    public LoginTokenOwner consumeLoginToken(String rawToken) {
+        log.info("Consuming passwordless login link");
+
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new IllegalArgumentException("Invalid/expired link");
+        }
+
+        try {
+            String hash = TokenHash.sha256(rawToken);
+            if (repo.consume(hash, MagicLinkPurpose.PASSWORDLESS_LOGIN, OffsetDateTime.now()) != 1) {
+                throw new IllegalArgumentException("Invalid/expired link");
+            }
+
+            LoginTokenOwner owner = repo.findOwnerByTokenHash(hash)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid/expired link"));
+            int userId = owner.userId();
+            UserStatus status = userStatusIndex.statusOf(userId);
+            if (status == null || status == UserStatus.DISABLED) {
+                throw new IllegalArgumentException("Invalid/expired link");
+            }
+
+            log.info("Passwordless login link consumed userId={}", userId);
+            return owner;
+
+        } catch (DataAccessException dae) {
+            log.error("Database error while consuming login link", dae);
+            throw new TradeIdentityException("Database error while consuming login link", dae);
+        }
+    }
+
     // ------------------ CONFIRM EMAIL ------------------
 
     @Transactional
@@ -121,6 +227,7 @@ public class MagicLinkService {
             user.setEmailVerified(true);
             user.setStatus(UserStatus.ACTIVE);
             userRepo.save(user);
+            userStatusIndex.recordAfterCommit(user.getId(), UserStatus.ACTIVE);
 
             log.info("Email verified successfully userId={}", user.getId());
             return true;
@@ -133,6 +240,46 @@ public class MagicLinkService {
 
     // ------------------ helper ------------------
 
+    /** Stores the SHA-256 of a fresh opaque token and returns the raw token for the link. */
+    private String saveToken(int userId, MagicLinkPurpose purpose, long ttl, String redirectUrl) {
+        String raw = TokenGenerator.opaqueToken();
+
+        MagicLinkToken t = new MagicLinkToken();
+        t.setUserId(userId);
+        t.setPurpose(purpose);
+        t.setTokenHash(TokenHash.sha256(raw));
+        t.setExpiresAt(OffsetDateTime.now().plusMinutes(ttl));
+        t.setRedirectUrl(redirectUrl);
+
+        repo.save(t);
+        return raw;
+    }
+
+    /** Hands the email to the dispatcher after commit, so the link never arrives before its token row. */
+    private void sendAfterCommit(EmailMessage message, CompletableFuture<Void> sent) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            forward(emailDispatcher.submit(message), sent);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    forward(emailDispatcher.submit(message), sent);
+                } else {
+                    sent.completeExceptionally(new TradeIdentityException("Email verification link was not stored"));
+                }
+            }
+        });
+    }
+
+    private static void forward(CompletableFuture<Void> from, CompletableFuture<Void> to) {
+        from.whenComplete((v, ex) -> {
+            if (ex == null) to.complete(null);
+            else to.completeExceptionally(ex);
+        });
+    }
+
     private String maskTokenInUrl(String url) {
         // masks token value if url contains token=....
         // Example: token=abcd1234 -> token=****1234
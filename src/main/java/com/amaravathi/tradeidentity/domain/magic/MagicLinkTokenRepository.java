@@ -1,6 +1,9 @@
 package com.amaravathi.tradeidentity.domain.magic;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.OffsetDateTime;
 import java.util.Optional;
@@ -9,6 +12,27 @@ import java.util.UUID;
 public interface MagicLinkTokenRepository extends JpaRepository<MagicLinkToken, Integer> {
     Optional<MagicLinkToken> findByTokenHash(String tokenHash);
 
+    @Query("""
+        select new com.amaravathi.tradeidentity.domain.magic.LoginTokenOwner(t.userId, u.tokenVersion)
+        from MagicLinkToken t
+        join AppUser u on u.id = t.userId
+        where t.tokenHash = :tokenHash
+        """)
+    Optional<LoginTokenOwner> findOwnerByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marks an unused, unexpired token of the given purpose as used. The row lock taken by
+     * the update serializes concurrent callers: exactly one sees 1, the others 0.
+     */
+    @Modifying
+    @Query("""
+        update MagicLinkToken t set t.usedAt = :now
+        where t.tokenHash = :tokenHash and t.purpose = :purpose
+          and t.usedAt is null and t.expiresAt > :now
+      """)
+    int consume(@Param("tokenHash") String tokenHash, @Param("purpose") MagicLinkPurpose purpose,
+                @Param("now") OffsetDateTime now);
+
     default boolean isValid(MagicLinkToken t) {
         return t.getUsedAt() == null && t.getExpiresAt().isAfter(OffsetDateTime.now());
     }
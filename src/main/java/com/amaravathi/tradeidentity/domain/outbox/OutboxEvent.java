@@ -0,0 +1,11 @@
+package com.amaravathi.tradeidentity.domain.outbox;
+
+/** One claimed row of {@code outbox_event}; {@code payload} is JSON text. */
+public record OutboxEvent(
+        long id,
+        String eventType,
+        int aggregateId,
+        String payload,
+        int attempts
+) {
+}
@@ -0,0 +1,12 @@
+package com.amaravathi.tradeidentity.domain.outbox;
+
+/**
+ * Side effect for one outbox event type. Delivery is at-least-once, so handlers must
+ * tolerate the occasional duplicate; throwing schedules a retry with backoff.
+ */
+public interface OutboxEventHandler {
+
+    String eventType();
+
+    void handle(OutboxEvent event) throws Exception;
+}
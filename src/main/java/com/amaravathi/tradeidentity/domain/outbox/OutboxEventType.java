@@ -0,0 +1,10 @@
+package com.amaravathi.tradeidentity.domain.outbox;
+
+public final class OutboxEventType {
+
+    /** A new user signed up; payload {@code {"email": ...}}. Sends the verification magic link. */
+    public static final String EMAIL_VERIFY_REQUESTED = "EMAIL_VERIFY_REQUESTED";
+
+    private OutboxEventType() {
+    }
+}
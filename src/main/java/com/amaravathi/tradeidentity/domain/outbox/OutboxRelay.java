@@ -0,0 +1,157 @@
+package com.amaravathi.tradeidentity.domain.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers {@code outbox_event} rows written in the same transaction as the change that
+ * caused them. Polls on a fixed delay (and immediately when nudged by a local writer),
+ * claims a batch with {@code FOR UPDATE SKIP LOCKED}, runs the handlers in parallel and
+ * marks each row done, or reschedules it with exponential backoff.
+ * <p>
+ * The scheduled tick only triggers a drain; the drain runs on the relay's own thread, so a
+ * slow mail server never holds up the shared scheduler and the index syncs behind it.
+ * Dispatch threads each borrow a pooled connection to mark rows, so keep them well below
+ * the Hikari pool size.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final OutboxRepository outboxRepo;
+    private final Map<String, OutboxEventHandler> handlers = new HashMap<>();
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final int retentionHours;
+    private final ExecutorService dispatchPool;
+    private final ExecutorService relayPool;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public OutboxRelay(
+            OutboxRepository outboxRepo,
+            List<OutboxEventHandler> handlers,
+            @Value("${app.outbox.batchSize}") int batchSize,
+            @Value("${app.outbox.threads}") int threads,
+            @Value("${app.outbox.leaseSeconds}") long leaseSeconds,
+            @Value("${app.outbox.maxAttempts}") int maxAttempts,
+            @Value("${app.outbox.retentionHours}") int retentionHours
+    ) {
+        this.outboxRepo = outboxRepo;
+        for (OutboxEventHandler h : handlers) {
+            if (this.handlers.put(h.eventType(), h) != null) {
+                throw new IllegalStateException("Duplicate outbox handler for " + h.eventType());
+            }
+        }
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.dispatchPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "outbox-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.relayPool = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "outbox-relay");
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("Outbox relay handlers={} batchSize={} threads={}", this.handlers.keySet(), batchSize, threads);
+    }
+
+    /** Ask for a poll now instead of at the next tick; used right after a local write commits. */
+    public void nudge() {
+        trigger();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.pollMillis}")
+    public void poll() {
+        trigger();
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purge() {
+        try {
+            int purged = outboxRepo.purgeDone(retentionHours);
+            if (purged > 0) log.info("Outbox purged done events={}", purged);
+        } catch (DataAccessException dae) {
+            log.warn("Outbox purge failed", dae);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayPool.shutdown();
+        dispatchPool.shutdown();
+    }
+
+    // ------------------ helper ------------------
+
+    /** Hands a drain to the relay thread unless one is already running. */
+    private void trigger() {
+        // One drain at a time per node; other nodes coordinate through SKIP LOCKED
+        if (!draining.compareAndSet(false, true)) return;
+        try {
+            relayPool.execute(this::drain);
+        } catch (RejectedExecutionException shuttingDown) {
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxRepo.claimBatch(batchSize, leaseSeconds);
+                if (!batch.isEmpty()) dispatch(batch);
+            } while (batch.size() == batchSize);
+        } catch (DataAccessException dae) {
+            log.warn("Outbox poll failed, will retry", dae);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private void dispatch(List<OutboxEvent> batch) {
+        CompletableFuture<?>[] futures = batch.stream()
+                .map(e -> CompletableFuture.runAsync(() -> deliver(e), dispatchPool))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void deliver(OutboxEvent event) {
+        OutboxEventHandler handler = handlers.get(event.eventType());
+        try {
+            if (handler == null) throw new IllegalStateException("No handler for " + event.eventType());
+            handler.handle(event);
+            outboxRepo.markDone(event.id());
+            log.debug("Outbox event delivered id={} type={}", event.id(), event.eventType());
+        } catch (Exception ex) {
+            long delay = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(event.attempts(), 12));
+            log.warn("Outbox event failed id={} type={} attempt={} retryInSeconds={}",
+                    event.id(), event.eventType(), event.attempts(), delay, ex);
+            try {
+                outboxRepo.reschedule(event.id(), delay, maxAttempts, String.valueOf(ex.getMessage()));
+            } catch (DataAccessException dae) {
+                // Lease expiry will hand the row out again
+                log.warn("Outbox reschedule failed id={}", event.id(), dae);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.amaravathi.tradeidentity.domain.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, i) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getInt("aggregate_id"),
+            rs.getString("payload"),
+            rs.getInt("attempts"));
+
+    /**
+     * Claims due events (pending, or in progress with an expired lease from a crashed node).
+     * SKIP LOCKED lets every node claim concurrently without blocking on each other's rows.
+     */
+    private static final String CLAIM = """
+        update outbox_event e
+        set status = 'IN_PROGRESS',
+            attempts = e.attempts + 1,
+            locked_until = now() + make_interval(secs => :leaseSeconds)
+        where e.id in (
+            select id from outbox_event
+            where (status = 'PENDING' and available_at <= now())
+               or (status = 'IN_PROGRESS' and locked_until < now())
+            order by id
+            limit :batchSize
+            for update skip locked
+        )
+        returning e.id, e.event_type, e.aggregate_id, e.payload, e.attempts
+        """;
+
+    private static final String MARK_DONE = """
+        update outbox_event set status = 'DONE', processed_at = now(), locked_until = null, last_error = null
+        where id = :id
+        """;
+
+    private static final String RESCHEDULE = """
+        update outbox_event
+        set status = case when attempts >= :maxAttempts then 'FAILED' else 'PENDING' end,
+            available_at = now() + make_interval(secs => :delaySeconds),
+            locked_until = null,
+            last_error = :error
+        where id = :id
+        """;
+
+    private static final String PURGE_DONE = """
+        delete from outbox_event where status = 'DONE' and processed_at < now() - make_interval(hours => :hours)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public List<OutboxEvent> claimBatch(int batchSize, long leaseSeconds) {
+        return jdbc.query(CLAIM, new MapSqlParameterSource()
+                .addValue("batchSize", batchSize)
+                .addValue("leaseSeconds", (double) leaseSeconds), ROW_MAPPER);
+    }
+
+    public void markDone(long id) {
+        jdbc.update(MARK_DONE, new MapSqlParameterSource("id", id));
+    }
+
+    public void reschedule(long id, long delaySeconds, int maxAttempts, String error) {
+        jdbc.update(RESCHEDULE, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("delaySeconds", (double) delaySeconds)
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("error", error));
+    }
+
+    public int purgeDone(int retentionHours) {
+        return jdbc.update(PURGE_DONE, new MapSqlParameterSource("hours", retentionHours));
+    }
+}
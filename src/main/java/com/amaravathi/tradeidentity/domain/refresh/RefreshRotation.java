@@ -0,0 +1,10 @@
+package com.amaravathi.tradeidentity.domain.refresh;
+
+import java.util.List;
+
+/**
+ * Outcome of a refresh: the token owner, their current role codes and token version, and the
+ * replacement raw token.
+ */
+public record RefreshRotation(int userId, List<String> roleCodes, int tokenVersion, String refreshToken) {
+}
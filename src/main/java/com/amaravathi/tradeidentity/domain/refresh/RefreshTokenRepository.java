@@ -7,11 +7,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByTokenHash(String tokenHash);
+    List<RefreshToken> findByTokenHashIn(Collection<String> tokenHashes);
     long deleteByUserId(int userId);
     long deleteByUserIdAndTokenHash(int userId, String tokenHash);
     // you can also add query for "valid token" if needed
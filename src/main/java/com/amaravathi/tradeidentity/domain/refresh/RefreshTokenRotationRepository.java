@@ -0,0 +1,66 @@
+package com.amaravathi.tradeidentity.domain.refresh;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refresh-token rotation in one statement: the old token is revoked only if it is still
+ * live, the replacement is inserted from the revoked row and the owner's role codes and
+ * token version are read back, all in a single round trip. The conditional update is the concurrency guard:
+ * a second refresh with the same token waits on the row lock, re-checks
+ * {@code revoked_at is null} after the first commits and matches nothing.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenRotationRepository {
+
+    private static final String ROTATE = """
+        with revoked as (
+            update refresh_token
+            set revoked_at = :now, replaced_by_hash = :newHash, last_used_at = :now
+            where token_hash = :oldHash
+              and revoked_at is null
+              and expires_at > :now
+            returning user_id
+        ), replacement as (
+            insert into refresh_token (user_id, token_hash, expires_at, created_at)
+            select user_id, :newHash, :expiresAt, :now from revoked
+        )
+        select rv.user_id, u.token_version, r.code
+        from revoked rv
+        join app_user u on u.id = rv.user_id
+        left join user_role ur on ur.user_id = rv.user_id
+        left join role r on r.id = ur.role_id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Revokes {@code oldHash} and stores {@code newHash} in its place; null if the old token
+     * is unknown, already revoked or expired.
+     */
+    public RefreshRotation rotate(String oldHash, String newHash, String newRaw, OffsetDateTime expiresAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("oldHash", oldHash)
+                .addValue("newHash", newHash)
+                .addValue("expiresAt", expiresAt)
+                .addValue("now", OffsetDateTime.now());
+
+        int[] userId = {0};
+        int[] tokenVersion = {0};
+        List<String> roleCodes = new ArrayList<>(2);
+        jdbc.query(ROTATE, params, rs -> {
+            userId[0] = rs.getInt("user_id");
+            tokenVersion[0] = rs.getInt("token_version");
+            String code = rs.getString("code");
+            if (code != null) roleCodes.add(code);
+        });
+        return userId[0] == 0 ? null : new RefreshRotation(userId[0], List.copyOf(roleCodes), tokenVersion[0], newRaw);
+    }
+}
@@ -2,6 +2,7 @@ package com.amaravathi.tradeidentity.domain.refresh;
 
 import com.amaravathi.tradeidentity.common.ResourceNotFoundException;
 import com.amaravathi.tradeidentity.common.TradeIdentityException;
+import com.amaravathi.tradeidentity.domain.user.TokenVersionIndex;
 import com.amaravathi.tradeidentity.util.TokenGenerator;
 import com.amaravathi.tradeidentity.util.TokenHash;
 import lombok.RequiredArgsConstructor;
@@ -13,19 +14,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.*;
 
 @Service
 @Slf4j
 public class RefreshTokenService {
 
     private final RefreshTokenRepository repo;
+    private final RefreshTokenRotationRepository rotationRepo;
+    private final TokenVersionIndex tokenVersionIndex;
     private final long ttlDays;
 
     public RefreshTokenService(
             RefreshTokenRepository repo,
+            RefreshTokenRotationRepository rotationRepo,
+            TokenVersionIndex tokenVersionIndex,
             @Value("${security.refresh.ttlDays}") long ttlDays
     ) {
         this.repo = repo;
+        this.rotationRepo = rotationRepo;
+        this.tokenVersionIndex = tokenVersionIndex;
         this.ttlDays = ttlDays;
     }
 
@@ -92,52 +100,67 @@ public class RefreshTokenService {
         }
     }
 
+    /**
+     * Set-based variant for introspection: one query for any number of tokens.
+     * Returns only the tokens that are currently valid, keyed by the raw token.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, RefreshToken> findValid(Collection<String> rawRefreshTokens) {
+        if (rawRefreshTokens == null || rawRefreshTokens.isEmpty()) return Map.of();
+
+        try {
+            Map<String, String> rawByHash = new HashMap<>();
+            for (String raw : rawRefreshTokens) {
+                if (raw != null && !raw.isBlank()) rawByHash.put(TokenHash.sha256(raw), raw);
+            }
+            if (rawByHash.isEmpty()) return Map.of();
+
+            Map<String, RefreshToken> valid = new HashMap<>();
+            for (RefreshToken t : repo.findByTokenHashIn(rawByHash.keySet())) {
+                if (repo.isValid(t)) valid.put(rawByHash.get(t.getTokenHash()), t);
+            }
+            log.debug("Validated {} refresh tokens, {} valid", rawByHash.size(), valid.size());
+            return valid;
+
+        } catch (DataAccessException dae) {
+            log.error("Database error while validating refresh tokens", dae);
+            throw new TradeIdentityException("Database error while validating refresh tokens", dae);
+        }
+    }
+
     // ------------------ ROTATE (atomic) ------------------
 
-    @Transactional
-    public String rotate(String oldRawRefreshToken, int userId) {
-        if (userId <= 0) throw new IllegalArgumentException("Invalid userId");
+    /**
+     * Exchanges a live refresh token for a new one and returns the owner with their role codes.
+     * Revoke, insert and role lookup are one statement, so it runs in autocommit without a
+     * surrounding transaction; of two concurrent refreshes with the same token only one wins.
+     */
+    public RefreshRotation rotate(String oldRawRefreshToken) {
         if (oldRawRefreshToken == null || oldRawRefreshToken.isBlank()) {
             throw new IllegalArgumentException("Refresh token is required");
         }
 
-        log.info("Rotating refresh token userId={}", userId);
-
         try {
             String oldHash = TokenHash.sha256(oldRawRefreshToken);
-
-            RefreshToken old = repo.findByTokenHash(oldHash)
-                    .orElseThrow(() -> new ResourceNotFoundException("Refresh token not found"));
-
-            if (!repo.isValid(old) || old.getUserId() != userId) {
-                // Important: also verify token belongs to the user
-                throw new IllegalArgumentException("Invalid refresh token");
-            }
-
             String newRaw = TokenGenerator.opaqueToken();
             String newHash = TokenHash.sha256(newRaw);
 
-            // revoke old + link replacement
-            old.setRevokedAt(OffsetDateTime.now());
-            old.setReplacedByHash(newHash);
-            repo.save(old);
-
-            // create new token
-            RefreshToken fresh = new RefreshToken();
-            fresh.setUserId(userId);
-            fresh.setTokenHash(newHash);
-            fresh.setExpiresAt(OffsetDateTime.now().plusDays(ttlDays));
-            repo.save(fresh);
+            RefreshRotation rotation = rotationRepo.rotate(
+                    oldHash, newHash, newRaw, OffsetDateTime.now().plusDays(ttlDays));
+            if (rotation == null) {
+                // unknown, revoked (possibly by a concurrent refresh) or expired
+                throw new IllegalArgumentException("Invalid refresh token");
+            }
 
-            log.info("Refresh token rotated userId={} ttlDays={}", userId, ttlDays);
-            return newRaw;
+            log.info("Refresh token rotated userId={} ttlDays={}", rotation.userId(), ttlDays);
+            return rotation;
 
         } catch (DataIntegrityViolationException dive) {
-            log.error("Integrity violation while rotating refresh token userId={}", userId, dive);
+            log.error("Integrity violation while rotating refresh token", dive);
             throw new TradeIdentityException("Failed to rotate refresh token due to constraint violation", dive);
 
         } catch (DataAccessException dae) {
-            log.error("Database error while rotating refresh token userId={}", userId, dae);
+            log.error("Database error while rotating refresh token", dae);
             throw new TradeIdentityException("Database error while rotating refresh token", dae);
         }
     }
@@ -179,6 +202,8 @@ public class RefreshTokenService {
         try {
             // Best: one DB update query
             int updated = repo.revokeAllByUserId(userId, OffsetDateTime.now());
+            // Access tokens already issued must die with the sessions
+            tokenVersionIndex.bump(userId);
             log.info("Revoked {} refresh tokens userId={}", updated, userId);
             return updated;
 
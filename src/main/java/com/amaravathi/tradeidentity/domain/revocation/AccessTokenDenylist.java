@@ -0,0 +1,133 @@
+package com.amaravathi.tradeidentity.domain.revocation;
+
+import com.amaravathi.tradeidentity.common.TradeIdentityException;
+import com.amaravathi.tradeidentity.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Denylist of individually revoked access tokens, keyed by {@code jti}.
+ * <p>
+ * Entries are grouped into buckets by token expiry. Each bucket has a Bloom filter in front
+ * of an exact set, so the common "not revoked" answer costs a few bit probes. Whole buckets
+ * are dropped once every token in them has expired. Rows are persisted so other nodes pick
+ * them up at their next sync and a restarted node can rebuild its buckets.
+ */
+@Service
+@Slf4j
+public class AccessTokenDenylist {
+
+    private static final long OVERLAP_SECONDS = 5;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private record Bucket(BloomFilter bloom, Set<String> exact) {
+    }
+
+    private final RevokedAccessTokenRepository repo;
+    private final long bucketSeconds;
+    private final long expectedPerBucket;
+
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    private OffsetDateTime lastSync;
+
+    public AccessTokenDenylist(
+            RevokedAccessTokenRepository repo,
+            @Value("${security.denylist.bucketMinutes}") long bucketMinutes,
+            @Value("${security.denylist.expectedPerBucket}") long expectedPerBucket
+    ) {
+        this.repo = repo;
+        this.bucketSeconds = bucketMinutes * 60;
+        this.expectedPerBucket = expectedPerBucket;
+    }
+
+    @PostConstruct
+    public void load() {
+        OffsetDateTime started = OffsetDateTime.now();
+        List<RevokedAccessToken> active = repo.findByExpiresAtAfter(started);
+        active.forEach(t -> remember(t.getJti(), t.getExpiresAt().toInstant()));
+        lastSync = started;
+        log.info("Access token denylist loaded entries={} buckets={}", active.size(), buckets.size());
+    }
+
+    // ------------------ CHECK ------------------
+
+    public boolean isRevoked(String jti, Instant expiresAt) {
+        if (jti == null) return false;
+        Bucket b = buckets.get(bucketOf(expiresAt));
+        if (b == null || !b.bloom().mightContain(jti)) return false;
+        return b.exact().contains(jti);
+    }
+
+    // ------------------ REVOKE ------------------
+
+    @Transactional
+    public void revoke(String jti, int userId, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) return;
+
+        log.info("Revoking access token userId={}", userId);
+
+        try {
+            if (!repo.existsById(jti)) {
+                RevokedAccessToken t = new RevokedAccessToken();
+                t.setJti(jti);
+                t.setUserId(userId);
+                t.setExpiresAt(OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC));
+                repo.save(t);
+            }
+            remember(jti, expiresAt);
+
+        } catch (DataAccessException dae) {
+            log.error("Database error while revoking access token userId={}", userId, dae);
+            throw new TradeIdentityException("Database error while revoking access token", dae);
+        }
+    }
+
+    // ------------------ ROTATE + SYNC ------------------
+
+    @Scheduled(fixedDelayString = "${security.denylist.syncSeconds}", timeUnit = TimeUnit.SECONDS)
+    public void rotateAndSync() {
+        OffsetDateTime started = OffsetDateTime.now();
+
+        // Bucket k holds tokens expiring in [k, k+1) * bucketSeconds; all of them are dead once k < current
+        buckets.headMap(bucketOf(started.toInstant())).clear();
+
+        try {
+            List<RevokedAccessToken> fresh =
+                    repo.findByCreatedAtAfterAndExpiresAtAfter(lastSync.minusSeconds(OVERLAP_SECONDS), started);
+            fresh.forEach(t -> remember(t.getJti(), t.getExpiresAt().toInstant()));
+            lastSync = started;
+
+            int purged = repo.deleteExpired(started);
+            log.debug("Access token denylist synced new={} purged={} buckets={}", fresh.size(), purged, buckets.size());
+        } catch (DataAccessException dae) {
+            log.warn("Access token denylist sync failed, will retry", dae);
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    private void remember(String jti, Instant expiresAt) {
+        Bucket b = buckets.computeIfAbsent(bucketOf(expiresAt),
+                k -> new Bucket(new BloomFilter(expectedPerBucket, FALSE_POSITIVE_RATE), ConcurrentHashMap.newKeySet()));
+        b.exact().add(jti);
+        b.bloom().put(jti);
+    }
+
+    private long bucketOf(Instant expiresAt) {
+        return Math.floorDiv(expiresAt.getEpochSecond(), bucketSeconds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.amaravathi.tradeidentity.domain.revocation;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "revoked_access_token")
+@Data
+public class RevokedAccessToken {
+
+    @Id
+    @Column(nullable = false)
+    private String jti;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "INTEGER")
+    private int userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,22 @@
+package com.amaravathi.tradeidentity.domain.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    List<RevokedAccessToken> findByExpiresAtAfter(OffsetDateTime now);
+
+    List<RevokedAccessToken> findByCreatedAtAfterAndExpiresAtAfter(OffsetDateTime since, OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedAccessToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
@@ -0,0 +1,61 @@
+package com.amaravathi.tradeidentity.domain.role;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fine-grained permissions granted to roles. Each one owns a fixed bit of a {@code long}
+ * mask; a user's effective permissions are the OR of their roles' masks and travel in the
+ * access token as the base36 {@code perms} claim.
+ * <p>
+ * Bits are part of the token format: never reorder or reuse them, only append.
+ */
+public enum Permission {
+    USER_READ(0),
+    USER_MANAGE(1),
+    ROLE_READ(2),
+    ROLE_MANAGE(3),
+    TRAINING_READ(4),
+    TRAINING_MANAGE(5),
+    TOKEN_INTROSPECT(6);
+
+    private static final Map<String, Permission> BY_CODE = new HashMap<>();
+
+    static {
+        long seen = 0;
+        for (Permission p : values()) {
+            if ((seen & p.mask) != 0) throw new IllegalStateException("Duplicate permission bit " + p.bit);
+            seen |= p.mask;
+            BY_CODE.put(p.name(), p);
+        }
+    }
+
+    private final int bit;
+    private final long mask;
+
+    Permission(int bit) {
+        this.bit = bit;
+        this.mask = 1L << bit;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    public boolean isIn(long permissions) {
+        return (permissions & mask) != 0;
+    }
+
+    /** Permission with this code, or {@code null} if unknown. */
+    public static Permission of(String code) {
+        return code == null ? null : BY_CODE.get(code);
+    }
+
+    public static String encode(long permissions) {
+        return Long.toString(permissions, 36);
+    }
+
+    public static long decode(String encoded) {
+        return encoded == null || encoded.isEmpty() ? 0 : Long.parseLong(encoded, 36);
+    }
+}
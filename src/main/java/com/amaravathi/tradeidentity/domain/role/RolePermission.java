@@ -0,0 +1,30 @@
+package com.amaravathi.tradeidentity.domain.role;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "role_permission")
+@IdClass(RolePermission.PK.class)
+public class RolePermission {
+
+    @Id
+    @Column(name = "role_id", columnDefinition = "SMALLINT")
+    private int roleId;
+
+    @Id
+    @Column(name = "permission", nullable = false)
+    private String permission;
+
+    public RolePermission() {}
+    public RolePermission(int roleId, String permission) {
+        this.roleId = roleId;
+        this.permission = permission;
+    }
+
+    public static class PK implements Serializable {
+        public int roleId;
+        public String permission;
+    }
+}
@@ -0,0 +1,83 @@
+package com.amaravathi.tradeidentity.domain.role;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code roleCode -> permission mask}, compiled from {@code role_permission}. The table is
+ * tiny, so it is reloaded whole: at startup, after local changes commit, and periodically
+ * to pick up changes made on other nodes.
+ */
+@Component
+@Slf4j
+public class RolePermissionIndex {
+
+    private final RolePermissionRepository rolePermissionRepo;
+
+    private volatile Map<String, Long> maskByRole = Map.of();
+
+    public RolePermissionIndex(RolePermissionRepository rolePermissionRepo) {
+        this.rolePermissionRepo = rolePermissionRepo;
+    }
+
+    /** Effective permissions of a set of roles. */
+    public long maskOf(Collection<String> roleCodes) {
+        if (roleCodes == null) return 0;
+        Map<String, Long> current = maskByRole;
+        long mask = 0;
+        for (String code : roleCodes) {
+            Long m = current.get(code);
+            if (m != null) mask |= m;
+        }
+        return mask;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<RolePermissionView> rows = rolePermissionRepo.findAllWithRoleCode();
+        Map<String, Long> compiled = new HashMap<>();
+        for (RolePermissionView row : rows) {
+            Permission p = Permission.of(row.permission());
+            if (p == null) {
+                log.warn("Ignoring unknown permission={} on role={}", row.permission(), row.roleCode());
+                continue;
+            }
+            compiled.merge(row.roleCode(), p.mask(), (a, b) -> a | b);
+        }
+        maskByRole = Map.copyOf(compiled);
+        log.debug("Role permissions loaded roles={} grants={}", compiled.size(), rows.size());
+    }
+
+    @Scheduled(fixedDelayString = "${security.permissions.syncSeconds}", timeUnit = TimeUnit.SECONDS)
+    public void sync() {
+        try {
+            load();
+        } catch (DataAccessException dae) {
+            log.warn("Role permission sync failed, will retry", dae);
+        }
+    }
+
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sync();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sync();
+            }
+        });
+    }
+}
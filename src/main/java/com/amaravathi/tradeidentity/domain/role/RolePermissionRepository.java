@@ -0,0 +1,22 @@
+package com.amaravathi.tradeidentity.domain.role;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RolePermissionRepository extends JpaRepository<RolePermission, RolePermission.PK> {
+
+    @Query("select new com.amaravathi.tradeidentity.domain.role.RolePermissionView(r.code, rp.permission) " +
+            "from RolePermission rp join Role r on r.id = rp.roleId")
+    List<RolePermissionView> findAllWithRoleCode();
+
+    @Query("select rp.permission from RolePermission rp where rp.roleId = :roleId")
+    List<String> findPermissionsByRoleId(@Param("roleId") int roleId);
+
+    @Modifying
+    @Query("delete from RolePermission rp where rp.roleId = :roleId")
+    int deleteByRoleId(@Param("roleId") int roleId);
+}
@@ -0,0 +1,4 @@
+package com.amaravathi.tradeidentity.domain.role;
+
+public record RolePermissionView(String roleCode, String permission) {
+}
@@ -5,6 +5,7 @@ import com.amaravathi.tradeidentity.api.admin.dto.RoleResponseResponseDto;
 import com.amaravathi.tradeidentity.api.admin.dto.UpdateRoleRequestDto;
 import com.amaravathi.tradeidentity.common.ResourceNotFoundException;
 import com.amaravathi.tradeidentity.common.TradeIdentityException;
+import com.amaravathi.tradeidentity.domain.user.TokenVersionIndex;
 import com.amaravathi.tradeidentity.security.SecurityUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +24,16 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RoleService {
 
+    private static final String DEFAULT_ROLE_CODE = "ROLE_TRADER";
+
     private final RoleRepository roleRepo;
     private final UserRoleRepository userRoleRepo;
+    private final TokenVersionIndex tokenVersionIndex;
+    private final RolePermissionRepository rolePermissionRepo;
+    private final RolePermissionIndex rolePermissionIndex;
+
+    // ROLE_TRADER id, resolved on first use; cleared when roles are edited
+    private volatile Integer defaultRoleId;
 
     // ------------------ READ METHODS ------------------
 
@@ -128,7 +137,10 @@ public class RoleService {
         }
 
         try {
+            rolePermissionRepo.deleteByRoleId(roleId);
             roleRepo.deleteById(roleId);
+            rolePermissionIndex.reloadAfterCommit();
+            defaultRoleId = null;
             log.info("Deleted role roleId={}", roleId);
 
             return RoleResponseResponseDto.builder()
@@ -178,6 +190,8 @@ public class RoleService {
             }
 
             Role saved = roleRepo.save(role);
+            rolePermissionIndex.reloadAfterCommit();
+            defaultRoleId = null;
 
             log.info("Updated role roleId={} code={}", saved.getId(), saved.getCode());
 
@@ -199,6 +213,67 @@ public class RoleService {
         }
     }
 
+    // ------------------ ROLE PERMISSIONS ------------------
+
+    @Transactional(readOnly = true)
+    public List<String> getRolePermissions(int roleId) {
+        log.info("Fetching permissions for roleId={}", roleId);
+
+        if (roleId <= 0) {
+            throw new IllegalArgumentException("Invalid roleId");
+        }
+
+        try {
+            if (!roleRepo.existsById(roleId)) {
+                throw new ResourceNotFoundException("Role not found with id: " + roleId);
+            }
+            return rolePermissionRepo.findPermissionsByRoleId(roleId);
+        } catch (DataAccessException dae) {
+            log.error("Database error while fetching permissions roleId={}", roleId, dae);
+            throw new TradeIdentityException("Database error while fetching role permissions", dae);
+        }
+    }
+
+    /**
+     * Replaces the role's permissions. Tokens already issued keep their compiled
+     * {@code perms} until they expire; new tokens pick up the change immediately.
+     */
+    @Transactional
+    public List<String> setRolePermissions(int roleId, List<String> permissions) {
+        log.info("Setting {} permissions on roleId={}", permissions == null ? 0 : permissions.size(), roleId);
+
+        if (roleId <= 0) {
+            throw new IllegalArgumentException("Invalid roleId");
+        }
+        if (permissions == null) {
+            throw new IllegalArgumentException("Permissions list cannot be null");
+        }
+
+        List<String> codes = permissions.stream().distinct().toList();
+        for (String code : codes) {
+            if (Permission.of(code) == null) {
+                throw new IllegalArgumentException("Unknown permission: " + code);
+            }
+        }
+
+        try {
+            if (!roleRepo.existsById(roleId)) {
+                throw new ResourceNotFoundException("Role not found with id: " + roleId);
+            }
+
+            rolePermissionRepo.deleteByRoleId(roleId);
+            rolePermissionRepo.saveAll(codes.stream().map(c -> new RolePermission(roleId, c)).toList());
+            rolePermissionIndex.reloadAfterCommit();
+
+            log.info("Permissions set roleId={} permissions={}", roleId, codes);
+            return codes;
+
+        } catch (DataAccessException dae) {
+            log.error("Database error while setting permissions roleId={}", roleId, dae);
+            throw new TradeIdentityException("Database error while setting role permissions", dae);
+        }
+    }
+
     // ------------------ ASSIGN ROLES TO USER ------------------
 
     @Transactional
@@ -233,6 +308,9 @@ public class RoleService {
                 userRoleRepo.save(new UserRole(userId, role.getId(), assignedBy));
             }
 
+            // Tokens carrying the old role list must not outlive the change
+            tokenVersionIndex.bump(userId);
+
             log.info("Roles assigned successfully userId={}", userId);
 
         } catch (DataIntegrityViolationException dive) {
@@ -252,6 +330,22 @@ public class RoleService {
 
     // ------------------ DEFAULT ROLE ------------------
 
+    /** Id of the default sign-up role (ROLE_TRADER), looked up once and cached. */
+    public int defaultRoleId() {
+        Integer id = defaultRoleId;
+        if (id != null) return id;
+
+        try {
+            Role role = roleRepo.findByCode(DEFAULT_ROLE_CODE)
+                    .orElseThrow(() -> new ResourceNotFoundException("Default role not found: " + DEFAULT_ROLE_CODE));
+            defaultRoleId = role.getId();
+            return role.getId();
+        } catch (DataAccessException dae) {
+            log.error("Database error while resolving default role", dae);
+            throw new TradeIdentityException("Database error while resolving default role", dae);
+        }
+    }
+
     @Transactional
     public void createDefaultRole(int userId) {
         log.info("Assigning default role to userId={}", userId);
@@ -261,12 +355,11 @@ public class RoleService {
         }
 
         try {
-            Role role = roleRepo.findByCode("ROLE_TRADER")
-                    .orElseThrow(() -> new ResourceNotFoundException("Default role not found: ROLE_TRADER"));
+            int roleId = defaultRoleId();
 
-            userRoleRepo.save(new UserRole(userId, role.getId(), userId));
+            userRoleRepo.save(new UserRole(userId, roleId, userId));
 
-            log.info("Default role assigned userId={} roleId={}", userId, role.getId());
+            log.info("Default role assigned userId={} roleId={}", userId, roleId);
 
         } catch (DataIntegrityViolationException dive) {
             log.error("Default role assignment failed due to integrity violation userId={}", userId, dive);
@@ -277,4 +370,4 @@ public class RoleService {
             throw new TradeIdentityException("Database error while assigning default role", dae);
         }
     }
-}
\ No newline at end of file
+}
@@ -142,6 +142,10 @@ public class AppUser {
     @Column(name = "country_code")
     private String countryCode;
 
+    // Only ever changed through AppUserRepository.incrementTokenVersion
+    @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+    private int tokenVersion;
+
     @PrePersist
     void prePersist() {
         //if (id == null) id = UUID.randomUUID();
@@ -1,51 +1,67 @@
 package com.amaravathi.tradeidentity.domain.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Integer> {
     Optional<AppUser> findByEmailIgnoreCase(String email);
     boolean existsByEmailIgnoreCase(String email);
 
-    @Query("select u from AppUser u left join fetch u.roles where u.id = :userId")
-    Optional<AppUser> findByIdWithRoles(@Param("userId") UUID userId);
+    @Query("select u.status from AppUser u where u.id = :id")
+    Optional<UserStatus> findStatusById(@Param("id") int id);
+
+    @Query("select new com.amaravathi.tradeidentity.domain.user.UserStatusView(u.id, u.status, u.tokenVersion) from AppUser u")
+    List<UserStatusView> findAllStatuses();
 
     @Query("""
-        select distinct u
+        select new com.amaravathi.tradeidentity.domain.user.UserStatusView(u.id, u.status, u.tokenVersion)
         from AppUser u
-        left join fetch u.originCountry
-        left join fetch u.destinationCountry
-        left join fetch u.productType
-        left join fetch u.roles
-        where u.email = :email
+        where u.updatedAt > :since
       """)
-    Optional<AppUser> findByEmailWithDetails(@Param("email") String email);
+    List<UserStatusView> findStatusesUpdatedSince(@Param("since") OffsetDateTime since);
+
+    /** Streams every email lower-cased, fetched in chunks; call inside a read-only transaction and close. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "2000"))
+    @Query("select lower(u.email) from AppUser u")
+    Stream<String> streamNormalizedEmails();
+
+    @Query("select lower(u.email) from AppUser u where u.createdAt > :since")
+    List<String> findNormalizedEmailsCreatedSince(@Param("since") OffsetDateTime since);
+
+    @Query("select u.tokenVersion from AppUser u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") int id);
 
+    @Modifying
+    @Query("update AppUser u set u.tokenVersion = u.tokenVersion + 1, u.updatedAt = :now where u.id = :id")
+    int incrementTokenVersion(@Param("id") int id, @Param("now") OffsetDateTime now);
+
+    /**
+     * Replaces the hash only if it is still the one that was verified, so a concurrent password change wins.
+     * Runs in its own short transaction when called outside one.
+     */
+    @Transactional
+    @Modifying
     @Query("""
-        select distinct u
-        from AppUser u
-        left join fetch u.originCountry
-        left join fetch u.destinationCountry
-        left join fetch u.productType
-        left join fetch u.roles
-        where u.id = :id
+        update AppUser u set u.passwordHash = :newHash, u.updatedAt = :now
+        where u.id = :id and u.passwordHash = :oldHash
       """)
-    Optional<AppUser> findByIdWithDetails(@Param("id") int id);
+    int replacePasswordHash(@Param("id") int id, @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash, @Param("now") OffsetDateTime now);
 
-    @Query("""
-      select distinct u
-      from AppUser u
-      left join fetch u.originCountry
-      left join fetch u.destinationCountry
-      left join fetch u.productType
-      left join fetch u.roles
-    """)
-    List<AppUser> findAllWithDetails();
+    @Query("select u from AppUser u left join fetch u.roles where u.id = :userId")
+    Optional<AppUser> findByIdWithRoles(@Param("userId") UUID userId);
 
     @Query("""
         select distinct u
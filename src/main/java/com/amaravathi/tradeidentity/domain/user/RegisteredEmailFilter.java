@@ -0,0 +1,123 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import com.amaravathi.tradeidentity.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of registered emails (trimmed, lower-cased) for the availability check:
+ * a negative answer is definite, so only positives need a DB lookup.
+ * <p>
+ * Built at startup from a streaming scan of {@code app_user}, updated by local sign-ups and
+ * admin creates, and topped up from rows created on other nodes every sync interval. When
+ * insertions outgrow the planned capacity the filter is rebuilt at twice the size and swapped
+ * in. Deleted users stay in the filter; they only cost an extra DB lookup.
+ */
+@Component
+@Slf4j
+public class RegisteredEmailFilter {
+
+    // Overlap between syncs so rows committed slightly out of timestamp order are not missed
+    private static final long OVERLAP_SECONDS = 5;
+
+    private final AppUserRepository userRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final long minCapacity;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile long capacity;
+    private final AtomicLong inserted = new AtomicLong();
+    private OffsetDateTime lastSync;
+
+    public RegisteredEmailFilter(
+            AppUserRepository userRepo,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.emailAvailability.minCapacity}") long minCapacity,
+            @Value("${security.emailAvailability.falsePositiveRate}") double falsePositiveRate
+    ) {
+        this.userRepo = userRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** False means the email is definitely not registered (as of the last sync). */
+    public boolean mightBeRegistered(String email) {
+        return filter.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        if (email == null) return;
+        filter.put(normalize(email));
+        inserted.incrementAndGet();
+    }
+
+    @PostConstruct
+    public void load() {
+        rebuild(minCapacity);
+    }
+
+    @Scheduled(fixedDelayString = "${security.emailAvailability.syncSeconds}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void sync() {
+        try {
+            if (inserted.get() > capacity) {
+                rebuild(Math.max(capacity, inserted.get()) * 2);
+                return;
+            }
+            OffsetDateTime started = OffsetDateTime.now();
+            List<String> created = userRepo.findNormalizedEmailsCreatedSince(lastSync.minusSeconds(OVERLAP_SECONDS));
+            BloomFilter current = filter;
+            created.forEach(current::put);
+            inserted.addAndGet(created.size());
+            lastSync = started;
+            log.debug("Registered email filter synced created={}", created.size());
+        } catch (DataAccessException dae) {
+            log.warn("Registered email filter sync failed, will retry", dae);
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    private synchronized void rebuild(long plannedCapacity) {
+        OffsetDateTime started = OffsetDateTime.now();
+        long target = Math.max(minCapacity, plannedCapacity);
+        BloomFilter next = new BloomFilter(target, falsePositiveRate);
+
+        Long count = readOnlyTx.execute(status -> {
+            try (Stream<String> emails = userRepo.streamNormalizedEmails()) {
+                long n = 0;
+                for (String email : (Iterable<String>) emails::iterator) {
+                    next.put(email);
+                    n++;
+                }
+                return n;
+            }
+        });
+
+        filter = next;
+        capacity = target;
+        inserted.set(count == null ? 0 : count);
+        lastSync = started;
+        log.info("Registered email filter built emails={} capacity={} sizeBytes={}",
+                count, target, next.sizeInBytes());
+    }
+}
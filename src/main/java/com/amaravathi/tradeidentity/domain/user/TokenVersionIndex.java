@@ -0,0 +1,94 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.OffsetDateTime;
+
+/**
+ * In-memory {@code userId -> token_version} table. Access tokens embed the version they were
+ * minted with; bumping it makes every older access token for that user invalid on the next
+ * request without a per-request DB query.
+ * <p>
+ * Same layout as {@link UserStatusIndex}: an {@code int[]} indexed by user id holding
+ * version + 1 (0 means "not loaded"). Versions only ever move forward.
+ */
+@Component
+@Slf4j
+public class TokenVersionIndex {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final AppUserRepository userRepo;
+
+    private volatile int[] slots = new int[1024];
+
+    public TokenVersionIndex(AppUserRepository userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    // ------------------ READ ------------------
+
+    public int versionOf(int userId) {
+        if (userId <= 0) return 0;
+
+        int[] current = slots;
+        if (userId < current.length) {
+            int stored = (int) SLOT.getVolatile(current, userId);
+            if (stored != 0) return stored - 1;
+        }
+
+        int version = userRepo.findTokenVersionById(userId).orElse(0);
+        record(userId, version);
+        return version;
+    }
+
+    // ------------------ WRITE ------------------
+
+    public synchronized void record(int userId, int version) {
+        if (userId <= 0 || version < 0) return;
+
+        int[] current = slots;
+        if (userId >= current.length) {
+            int size = current.length;
+            while (size <= userId) size <<= 1;
+            int[] grown = new int[size];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+            slots = grown;
+        }
+        int stored = (int) SLOT.getVolatile(current, userId);
+        if (version + 1 > stored) {
+            SLOT.setVolatile(current, userId, version + 1);
+        }
+    }
+
+    /**
+     * Invalidates every access token issued to the user so far. Takes effect on this node
+     * when the surrounding transaction commits, and on other nodes at their next sync.
+     */
+    @Transactional
+    public void bump(int userId) {
+        if (userId <= 0) throw new IllegalArgumentException("Invalid userId");
+
+        userRepo.incrementTokenVersion(userId, OffsetDateTime.now());
+        int version = userRepo.findTokenVersionById(userId).orElse(0);
+        log.info("Access token version bumped userId={} version={}", userId, version);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(userId, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(userId, version);
+            }
+        });
+    }
+}
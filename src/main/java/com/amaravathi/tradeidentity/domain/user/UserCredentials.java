@@ -0,0 +1,16 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import java.util.List;
+
+/**
+ * The few columns sign-in needs before the password is known to be correct. {@code tokenVersion}
+ * is read with them, so the access token carries the database value rather than a node's cached one.
+ */
+public record UserCredentials(
+        int id,
+        String passwordHash,
+        UserStatus status,
+        List<String> roleCodes,
+        int tokenVersion
+) {
+}
@@ -0,0 +1,49 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sign-in phase one over plain JDBC: one narrow row (id, hash, status, token version and role codes)
+ * mapped straight into {@link UserCredentials}, with no persistence context, query
+ * translation or projection proxy on the hot path.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserCredentialsRepository {
+
+    private static final String BY_EMAIL = """
+        select u.id,
+               u.password_hash,
+               u.status,
+               u.token_version,
+               coalesce(string_agg(r.code, ',' order by r.code), '') as role_codes
+        from app_user u
+        left join user_role ur on ur.user_id = u.id
+        left join role r on r.id = ur.role_id
+        where u.email = :email
+        group by u.id
+        """;
+
+    private static final RowMapper<UserCredentials> ROW_MAPPER = (rs, i) -> {
+        String roleCodes = rs.getString("role_codes");
+        return new UserCredentials(
+                rs.getInt("id"),
+                rs.getString("password_hash"),
+                UserStatus.valueOf(rs.getString("status")),
+                roleCodes == null || roleCodes.isEmpty() ? List.of() : List.of(roleCodes.split(",")),
+                rs.getInt("token_version"));
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public Optional<UserCredentials> findByEmail(String email) {
+        return jdbc.query(BY_EMAIL, new MapSqlParameterSource("email", email), ROW_MAPPER).stream().findFirst();
+    }
+}
@@ -0,0 +1,66 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills {@link UserStatusIndex} and {@link TokenVersionIndex} at startup and periodically
+ * pulls rows changed on other nodes (by {@code updated_at}), so disables and revocations
+ * propagate across the cluster within one sync interval.
+ */
+@Component
+@Slf4j
+public class UserIndexSync {
+
+    // Overlap between syncs so rows committed slightly out of timestamp order are not missed
+    private static final long OVERLAP_SECONDS = 5;
+
+    private final AppUserRepository userRepo;
+    private final UserStatusIndex userStatusIndex;
+    private final TokenVersionIndex tokenVersionIndex;
+
+    private OffsetDateTime lastSync;
+
+    public UserIndexSync(AppUserRepository userRepo, UserStatusIndex userStatusIndex,
+                         TokenVersionIndex tokenVersionIndex) {
+        this.userRepo = userRepo;
+        this.userStatusIndex = userStatusIndex;
+        this.tokenVersionIndex = tokenVersionIndex;
+    }
+
+    @PostConstruct
+    public void load() {
+        OffsetDateTime started = OffsetDateTime.now();
+        List<UserStatusView> all = userRepo.findAllStatuses();
+        apply(all);
+        lastSync = started;
+        log.info("User indexes loaded users={}", all.size());
+    }
+
+    @Scheduled(fixedDelayString = "${security.userIndex.syncSeconds}", timeUnit = TimeUnit.SECONDS)
+    public void sync() {
+        OffsetDateTime started = OffsetDateTime.now();
+        try {
+            List<UserStatusView> changed = userRepo.findStatusesUpdatedSince(lastSync.minusSeconds(OVERLAP_SECONDS));
+            apply(changed);
+            lastSync = started;
+            log.debug("User indexes synced changed={}", changed.size());
+        } catch (DataAccessException dae) {
+            log.warn("User index sync failed, will retry", dae);
+        }
+    }
+
+    private void apply(List<UserStatusView> views) {
+        for (UserStatusView v : views) {
+            userStatusIndex.record(v.id(), v.status());
+            tokenVersionIndex.record(v.id(), v.tokenVersion());
+        }
+    }
+}
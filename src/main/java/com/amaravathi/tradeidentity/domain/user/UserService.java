@@ -3,11 +3,16 @@ package com.amaravathi.tradeidentity.domain.user;
 import com.amaravathi.tradeidentity.api.admin.dto.*;
 import com.amaravathi.tradeidentity.api.auth.dto.SignUpRequestDto;
 import com.amaravathi.tradeidentity.api.auth.dto.SignUpResponseDto;
+import com.amaravathi.tradeidentity.common.FieldSelection;
 import com.amaravathi.tradeidentity.common.ResourceNotFoundException;
+import com.amaravathi.tradeidentity.common.ServiceBusyException;
 import com.amaravathi.tradeidentity.common.TradeIdentityException;
+import com.amaravathi.tradeidentity.domain.outbox.OutboxRelay;
 import com.amaravathi.tradeidentity.domain.role.Role;
 import com.amaravathi.tradeidentity.domain.role.RoleService;
 import com.amaravathi.tradeidentity.domain.role.UserRoleRepository;
+import com.amaravathi.tradeidentity.security.BreachedPasswordChecker;
+import com.amaravathi.tradeidentity.security.EmailDomainFilter;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -17,7 +22,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.amaravathi.tradeidentity.domain.user.UserServiceUtil.*;
@@ -25,19 +34,43 @@ import static com.amaravathi.tradeidentity.domain.user.UserServiceUtil.*;
 @Service
 @Slf4j
 public class UserService {
+
+    /** Lazy associations of {@link AppUser} that response DTOs expose under the same names. */
+    private static final List<String> USER_ASSOCIATIONS =
+            List.of("originCountry", "destinationCountry", "productType", "roles");
+
     private final AppUserRepository userRepo;
     private final UserRoleRepository userRoleRepo;
     private final PasswordEncoder passwordEncoder;
     private final RoleService roleService;
     private final EntityManager em;
+    private final UserStatusIndex userStatusIndex;
+    private final TokenVersionIndex tokenVersionIndex;
+    private final UserSignUpRepository signUpRepo;
+    private final UserCredentialsRepository credentialsRepo;
+    private final OutboxRelay outboxRelay;
+    private final BreachedPasswordChecker breachedPasswordChecker;
+    private final EmailDomainFilter emailDomainFilter;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     public UserService(AppUserRepository userRepo, PasswordEncoder passwordEncoder, UserRoleRepository userRoleRepo,
-                       RoleService roleService, EntityManager em) {
+                       RoleService roleService, EntityManager em, UserStatusIndex userStatusIndex,
+                       TokenVersionIndex tokenVersionIndex, UserSignUpRepository signUpRepo,
+                       UserCredentialsRepository credentialsRepo, OutboxRelay outboxRelay, BreachedPasswordChecker breachedPasswordChecker,
+                       EmailDomainFilter emailDomainFilter, RegisteredEmailFilter registeredEmailFilter) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.userRoleRepo = userRoleRepo;
         this.roleService = roleService;
         this.em = em;
+        this.userStatusIndex = userStatusIndex;
+        this.tokenVersionIndex = tokenVersionIndex;
+        this.signUpRepo = signUpRepo;
+        this.credentialsRepo = credentialsRepo;
+        this.outboxRelay = outboxRelay;
+        this.breachedPasswordChecker = breachedPasswordChecker;
+        this.emailDomainFilter = emailDomainFilter;
+        this.registeredEmailFilter = registeredEmailFilter;
     }
 
     // ------------------ ADMIN CREATE USER ------------------
@@ -53,6 +86,7 @@ public class UserService {
                 log.warn("Email already exists email={}", req.getEmail());
                 throw new IllegalArgumentException("Email already exists");
             }
+            breachedPasswordChecker.requireNotBreached(req.getPassword());
 
             AppUser u = new AppUser();
             u.setEmail(req.getEmail().trim());
@@ -81,6 +115,8 @@ public class UserService {
             u.setCommunicationConsent(req.isCommunicationConsent());
 
             AppUser saved = userRepo.save(u);
+            userStatusIndex.recordAfterCommit(saved.getId(), saved.getStatus());
+            registeredEmailFilter.add(saved.getEmail());
             log.info("User created userId={} email={}", saved.getId(), saved.getEmail());
 
             if (req.getRoles() != null && !req.getRoles().isEmpty()) {
@@ -100,29 +136,50 @@ public class UserService {
         }
     }
 
+    // ------------------ EMAIL AVAILABILITY ------------------
+
+    /** Answered from {@link RegisteredEmailFilter}; only filter positives are confirmed in the DB. */
+    public boolean isEmailAvailable(String email) {
+        if (email == null || email.isBlank()) throw new IllegalArgumentException("Email is required");
+        if (!registeredEmailFilter.mightBeRegistered(email)) return true;
+
+        try {
+            return !userRepo.existsByEmailIgnoreCase(email.trim());
+        } catch (DataAccessException dae) {
+            log.error("Database error while checking email availability email={}", email, dae);
+            throw new TradeIdentityException("Database error while checking email availability", dae);
+        }
+    }
+
     // ------------------ SIGNUP ------------------
 
-    @Transactional
+    /**
+     * Not transactional on purpose: the password is hashed before any connection is taken,
+     * and the write is a single statement (user + default role + verify-email outbox event),
+     * atomic on its own. The email itself goes out from {@link OutboxRelay}.
+     */
     public SignUpResponseDto signUpUser(SignUpRequestDto req) {
         log.info("Sign-up request received email={}", req != null ? req.getEmail() : null);
 
         if (req == null) throw new IllegalArgumentException("Request cannot be null");
         if (req.getEmail() == null || req.getEmail().isBlank()) throw new IllegalArgumentException("Email is required");
         if (req.getPassword() == null || req.getPassword().isBlank()) throw new IllegalArgumentException("Password is required");
+        emailDomainFilter.requireAllowed(req.getEmail());
+        breachedPasswordChecker.requireNotBreached(req.getPassword());
+
+        AppUser u = UserServiceUtil.convertRequestDtoToUserEntity(req, passwordEncoder);
 
         try {
-            if (userRepo.existsByEmailIgnoreCase(req.getEmail())) {
+            OptionalInt userId = signUpRepo.insertWithDefaultRole(u, roleService.defaultRoleId());
+            if (userId.isEmpty()) {
                 log.warn("Sign-up failed: email already exists email={}", req.getEmail());
                 throw new IllegalArgumentException("Email already exists");
             }
+            userStatusIndex.record(userId.getAsInt(), u.getStatus());
+            registeredEmailFilter.add(u.getEmail());
+            outboxRelay.nudge();
 
-            AppUser u = UserServiceUtil.convertRequestDtoToUserEntity(req, passwordEncoder);
-            AppUser saved = userRepo.save(u);
-
-            // Default role assignment is part of the same transaction
-            roleService.createDefaultRole(saved.getId());
-
-            log.info("Sign-up successful userId={} email={}", saved.getId(), saved.getEmail());
+            log.info("Sign-up successful userId={} email={}", userId.getAsInt(), u.getEmail());
 
             return SignUpResponseDto.builder()
                     .message("Sign-up successful. Please login !!!")
@@ -140,22 +197,49 @@ public class UserService {
 
     // ------------------ REQUIRE USER ------------------
 
-    @Transactional(readOnly = true)
-    public AppUser requireUserByEmail(String email) {
+    /**
+     * Sign-in phase one: only what the password check and the token need. The profile
+     * graph is loaded afterwards with {@link #requireUserWithDetails(int, FieldSelection)}, so failed
+     * logins never pay for it. A single autocommit SELECT, so no transaction is opened.
+     */
+    public UserCredentials requireCredentialsByEmail(String email) {
         if (email == null || email.isBlank()) throw new IllegalArgumentException("Email is required");
 
-        return userRepo.findByEmailWithDetails(email.trim())
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid credentials"));
+        try {
+            return credentialsRepo.findByEmail(email.trim())
+                    .orElseThrow(() -> new ResourceNotFoundException("Invalid credentials"));
+        } catch (DataAccessException dae) {
+            log.error("Database error while loading credentials email={}", email, dae);
+            throw new TradeIdentityException("Database error while loading credentials", dae);
+        }
+    }
+
+    /**
+     * Loads the user with only the associations the response will serialize; the others
+     * stay unfetched lazy proxies and must not be touched by the caller.
+     */
+    @Transactional(readOnly = true)
+    public AppUser requireUserWithDetails(int userId, FieldSelection fields) {
+        if (userId <= 0) throw new IllegalArgumentException("Invalid userId");
+
+        return loadUser(userId, fields.selected(USER_ASSOCIATIONS))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
     }
 
     @Transactional(readOnly = true)
     public UserResponseDto requireUser(int userId) {
+        return requireUser(userId, FieldSelection.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public UserResponseDto requireUser(int userId, FieldSelection fields) {
         if (userId <= 0) throw new IllegalArgumentException("Invalid userId");
 
-        AppUser user = userRepo.findByIdWithDetails(userId)
+        Set<String> associations = fields.selected(USER_ASSOCIATIONS);
+        AppUser user = loadUser(userId, associations)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        return UserResponseDto.builder()
+        return withAssociations(UserResponseDto.builder(), user, associations)
                 .id(user.getId())
                 .phone(user.getPhone())
                 .email(user.getEmail())
@@ -163,10 +247,6 @@ public class UserService {
                 .status(user.getStatus())
                 .emailVerified(user.isEmailVerified())
                 .phoneVerified(user.isPhoneVerified())
-                .originCountry(mapCountryEntityToCountryDto(user.getOriginCountry()))
-                .destinationCountry(mapCountryEntityToCountryDto(user.getDestinationCountry()))
-                .productType(mapProductTypeEntityToProductTypeDto(user.getProductType()))
-                .roles(mapRoleEntityToRoleResponseDto(user.getRoles()))
                 .isEmailNotificationEnabled(user.isEmailNotificationEnabled())
                 .isAppNotificationEnabled(user.isAppNotificationEnabled())
                 .isPhoneNotificationEnabled(user.isPhoneNotificationEnabled())
@@ -174,18 +254,45 @@ public class UserService {
                 .build();
     }
 
+    // ------------------ PASSWORD REHASH ------------------
+
+    /**
+     * Re-encodes a just-verified password if its stored hash is below the current cost or
+     * format. Best effort: a failure here never fails the sign-in.
+     * <p>
+     * Deliberately not transactional: the hash is computed before any connection is borrowed,
+     * and only the conditional UPDATE runs in its own short transaction.
+     */
+    public void rehashPasswordIfNeeded(int userId, String currentHash, String rawPassword) {
+        if (currentHash == null || !passwordEncoder.upgradeEncoding(currentHash)) return;
+
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            int updated = userRepo.replacePasswordHash(userId, currentHash, newHash, OffsetDateTime.now());
+            log.info("Password rehashed userId={} updated={}", userId, updated);
+        } catch (DataAccessException | ServiceBusyException ex) {
+            log.warn("Password rehash skipped userId={} reason={}", userId, ex.getMessage());
+        }
+    }
+
     // ------------------ GET ALL USERS ------------------
 
+    /**
+     * The list view has no associations by default; they are fetched (in the same query)
+     * only when named in {@code fields}.
+     */
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getAllUsers() {
+    public List<UserResponseDto> getAllUsers(FieldSelection fields) {
         log.info("Fetching all users");
 
+        Set<String> associations = fields.isAll() ? Set.of() : fields.selected(USER_ASSOCIATIONS);
         try {
-            List<AppUser> users = userRepo.findAllWithDetails();
+            List<AppUser> users = em.createQuery(userQuery(associations, "order by u.id"), AppUser.class)
+                    .getResultList();
             log.debug("Found {} users", users.size());
 
             return users.stream()
-                    .map(user ->  UserResponseDto.builder()
+                    .map(user -> withAssociations(UserResponseDto.builder(), user, associations)
                             .id(user.getId())
                             .email(user.getEmail())
                             .phone(user.getPhone())
@@ -276,6 +383,8 @@ public class UserService {
 
             user.setStatus(UserStatus.DISABLED);
             userRepo.save(user);
+            userStatusIndex.recordAfterCommit(userId, UserStatus.DISABLED);
+            tokenVersionIndex.bump(userId);
 
             log.info("User disabled userId={}", userId);
             return "Successfully Disabled User!!";
@@ -312,6 +421,7 @@ public class UserService {
             u.setStatus(UserStatus.ACTIVE);
 
             userRepo.save(u);
+            userStatusIndex.recordAfterCommit(userId, UserStatus.ACTIVE);
 
             if (req.getRoles() != null && !req.getRoles().isEmpty()) {
                 log.info("Updating roles for userId={}, rolesCount={}", userId, req.getRoles().size());
@@ -346,6 +456,8 @@ public class UserService {
 
             u.setStatus(req.getStatus());
             userRepo.save(u);
+            userStatusIndex.recordAfterCommit(userId, req.getStatus());
+            tokenVersionIndex.bump(userId);
 
             log.info("User status updated userId={} status={}", userId, req.getStatus());
 
@@ -372,6 +484,37 @@ public class UserService {
         }
     }
 
+    // ------------------ helper ------------------
+
+    private Optional<AppUser> loadUser(int userId, Set<String> associations) {
+        return em.createQuery(userQuery(associations, "where u.id = :id"), AppUser.class)
+                .setParameter("id", userId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * JPQL with a fetch join per selected association, always in {@link #USER_ASSOCIATIONS}
+     * order, so each combination is one string and Hibernate reuses its cached plan (a
+     * fetch-graph hint is applied per execution and skips that cache).
+     */
+    private static String userQuery(Set<String> associations, String clause) {
+        StringBuilder jpql = new StringBuilder("select u from AppUser u");
+        for (String association : USER_ASSOCIATIONS) {
+            if (associations.contains(association)) jpql.append(" left join fetch u.").append(association);
+        }
+        return jpql.append(' ').append(clause).toString();
+    }
+
+    private static UserResponseDto.UserResponseDtoBuilder withAssociations(
+            UserResponseDto.UserResponseDtoBuilder b, AppUser user, Set<String> associations) {
+        if (associations.contains("originCountry")) b.originCountry(mapCountryEntityToCountryDto(user.getOriginCountry()));
+        if (associations.contains("destinationCountry")) b.destinationCountry(mapCountryEntityToCountryDto(user.getDestinationCountry()));
+        if (associations.contains("productType")) b.productType(mapProductTypeEntityToProductTypeDto(user.getProductType()));
+        if (associations.contains("roles")) b.roles(mapRoleEntityToRoleResponseDto(user.getRoles()));
+        return b;
+    }
+
     public void  setRoles(int userId, List<RoleResponseResponseDto> roles, Authentication auth) {
 
         roleService.createUserRoles(userId, roles, auth);
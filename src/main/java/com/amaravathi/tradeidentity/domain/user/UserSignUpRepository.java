@@ -0,0 +1,81 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import com.amaravathi.tradeidentity.domain.outbox.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Sign-up write path in one statement: the user insert, the default role assignment and
+ * the verification-email outbox event run as data-modifying CTEs, so they commit (or not)
+ * together. The duplicate-email check is the insert's own
+ * {@code ON CONFLICT} on the {@code lower(email)} unique index, so there is no
+ * exists-then-insert race.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSignUpRepository {
+
+    private static final String INSERT_WITH_DEFAULT_ROLE = """
+        with new_user as (
+            insert into app_user (
+                email, full_name, phone, password_hash, status,
+                email_verified, phone_verified,
+                is_email_notification, is_phone_notification, is_app_notification,
+                residence_country, city, preferred_language, occupation, interest,
+                previous_trading_exp, terms_accepted, communication_consent, country_code,
+                created_at, updated_at
+            ) values (
+                :email, :fullName, :phone, :passwordHash, :status,
+                false, false,
+                false, false, false,
+                :residenceCountry, :city, :preferredLanguage, :occupation, :interest,
+                :previousTradingExposure, :termsAccepted, :communicationConsent, :countryCode,
+                :now, :now
+            )
+            on conflict ((lower(email))) do nothing
+            returning id
+        ), default_role as (
+            insert into user_role (user_id, role_id, assigned_at, assigned_by)
+            select id, :roleId, :now, id from new_user
+        ), verify_email as (
+            insert into outbox_event (event_type, aggregate_id, payload, status, attempts, available_at, created_at)
+            select :verifyEventType, id, json_build_object('email', :email)::text, 'PENDING', 0, :now, :now
+            from new_user
+        )
+        select id from new_user
+        """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /** Inserts the user, its default role and the verify-email event; empty if the email is already registered. */
+    public OptionalInt insertWithDefaultRole(AppUser u, int defaultRoleId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("email", u.getEmail())
+                .addValue("fullName", u.getFullName())
+                .addValue("phone", u.getPhone())
+                .addValue("passwordHash", u.getPasswordHash())
+                .addValue("status", u.getStatus().name())
+                .addValue("residenceCountry", u.getResidenceCountry())
+                .addValue("city", u.getCity())
+                .addValue("preferredLanguage", u.getPreferredLanguage())
+                .addValue("occupation", u.getOccupation())
+                .addValue("interest", u.getInterest())
+                .addValue("previousTradingExposure", u.getPreviousTradingExposure())
+                .addValue("termsAccepted", u.isTermsAccepted())
+                .addValue("communicationConsent", u.isCommunicationConsent())
+                .addValue("countryCode", u.getCountryCode())
+                .addValue("roleId", defaultRoleId)
+                .addValue("verifyEventType", OutboxEventType.EMAIL_VERIFY_REQUESTED)
+                .addValue("now", now);
+
+        List<Integer> ids = jdbc.queryForList(INSERT_WITH_DEFAULT_ROLE, params, Integer.class);
+        return ids.isEmpty() ? OptionalInt.empty() : OptionalInt.of(ids.get(0));
+    }
+}
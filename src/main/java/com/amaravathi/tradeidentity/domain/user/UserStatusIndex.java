@@ -0,0 +1,87 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * In-memory {@code userId -> UserStatus} table so the auth filter can reject
+ * unknown or disabled users without touching the connection pool.
+ * <p>
+ * User ids are dense identity values, so a plain {@code byte[]} indexed by id costs
+ * one byte per user. Slot value 0 means "not loaded", otherwise it is ordinal + 1.
+ * Reads are lock-free; writes and growth are serialized. Filled and kept in sync with
+ * other nodes by {@link UserIndexSync}.
+ */
+@Component
+public class UserStatusIndex {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final UserStatus[] STATUSES = UserStatus.values();
+    private static final byte UNKNOWN = 0;
+
+    private final AppUserRepository userRepo;
+
+    private volatile byte[] slots = new byte[1024];
+
+    public UserStatusIndex(AppUserRepository userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    // ------------------ READ ------------------
+
+    /**
+     * Returns the user's status, or {@code null} if the user does not exist.
+     * Ids not yet in the table (e.g. created on another node) are read once from the DB.
+     */
+    public UserStatus statusOf(int userId) {
+        if (userId <= 0) return null;
+
+        byte[] current = slots;
+        if (userId < current.length) {
+            byte code = (byte) SLOT.getVolatile(current, userId);
+            if (code != UNKNOWN) return STATUSES[code - 1];
+        }
+
+        UserStatus status = userRepo.findStatusById(userId).orElse(null);
+        if (status != null) record(userId, status);
+        return status;
+    }
+
+    // ------------------ WRITE ------------------
+
+    public synchronized void record(int userId, UserStatus status) {
+        if (userId <= 0 || status == null) return;
+
+        byte[] current = slots;
+        if (userId >= current.length) {
+            int size = current.length;
+            while (size <= userId) size <<= 1;
+            byte[] grown = new byte[size];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+            slots = grown;
+        }
+        SLOT.setVolatile(current, userId, (byte) (status.ordinal() + 1));
+    }
+
+    /**
+     * Records the new status once the surrounding transaction commits, so a rollback
+     * never leaves the table ahead of the database.
+     */
+    public void recordAfterCommit(int userId, UserStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(userId, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(userId, status);
+            }
+        });
+    }
+}
@@ -0,0 +1,4 @@
+package com.amaravathi.tradeidentity.domain.user;
+
+public record UserStatusView(int id, UserStatus status, int tokenVersion) {
+}
@@ -0,0 +1,48 @@
+package com.amaravathi.tradeidentity.grpc;
+
+import com.amaravathi.tradeidentity.security.AccessTokenClaims;
+import com.amaravathi.tradeidentity.security.AccessTokenGuard;
+import com.amaravathi.tradeidentity.security.JwtTokenService;
+import io.grpc.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Same rule as the REST side: every call needs a valid, unrevoked bearer access token
+ * in the {@code authorization} metadata.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GrpcAuthInterceptor implements ServerInterceptor {
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final JwtTokenService jwtTokenService;
+    private final AccessTokenGuard accessTokenGuard;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String header = headers.get(AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Missing bearer token"), new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        try {
+            AccessTokenClaims claims = jwtTokenService.verifyAccessToken(header.substring(7));
+            if (!accessTokenGuard.isUsable(claims)) {
+                throw new IllegalStateException("Access token revoked");
+            }
+        } catch (Exception ex) {
+            log.debug("gRPC call rejected method={} reason={}", call.getMethodDescriptor().getFullMethodName(), ex.getMessage());
+            call.close(Status.UNAUTHENTICATED.withDescription("Invalid or expired access token"), new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        return next.startCall(call, headers);
+    }
+}
@@ -0,0 +1,88 @@
+package com.amaravathi.tradeidentity.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the internal gRPC server next to Tomcat, on its own port and its own bounded
+ * executor so gRPC load never competes with the servlet thread pool.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "grpc.server", name = "enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final TokenValidationGrpcService tokenValidationService;
+    private final GrpcAuthInterceptor authInterceptor;
+    private final int port;
+    private final int threads;
+
+    private ExecutorService executor;
+    private Server server;
+
+    public GrpcServerLifecycle(
+            TokenValidationGrpcService tokenValidationService,
+            GrpcAuthInterceptor authInterceptor,
+            @Value("${grpc.server.port}") int port,
+            @Value("${grpc.server.threads}") int threads
+    ) {
+        this.tokenValidationService = tokenValidationService;
+        this.authInterceptor = authInterceptor;
+        this.port = port;
+        this.threads = threads;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "grpc-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                    .executor(executor)
+                    .addService(ServerInterceptors.intercept(tokenValidationService, authInterceptor))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Failed to start gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started port={} threads={}", port, threads);
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) return;
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) server.shutdownNow();
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        server = null;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null && !server.isShutdown();
+    }
+}
@@ -0,0 +1,122 @@
+package com.amaravathi.tradeidentity.grpc;
+
+import com.amaravathi.tradeidentity.api.admin.dto.RoleResponseResponseDto;
+import com.amaravathi.tradeidentity.api.admin.dto.UserResponseDto;
+import com.amaravathi.tradeidentity.api.oauth2.dto.IntrospectionResponseDto;
+import com.amaravathi.tradeidentity.common.ResourceNotFoundException;
+import com.amaravathi.tradeidentity.domain.introspection.TokenIntrospectionService;
+import com.amaravathi.tradeidentity.domain.user.UserService;
+import com.amaravathi.tradeidentity.grpc.v1.*;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenValidationGrpcService extends TokenValidationGrpc.TokenValidationImplBase {
+
+    private final TokenIntrospectionService introspectionService;
+    private final UserService userService;
+
+    @Override
+    public void validateToken(ValidateTokenRequest request, StreamObserver<ValidateTokenResponse> responseObserver) {
+        try {
+            responseObserver.onNext(validate(request));
+            responseObserver.onCompleted();
+        } catch (Exception ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public void getPrincipal(GetPrincipalRequest request, StreamObserver<Principal> responseObserver) {
+        log.debug("gRPC GetPrincipal userId={}", request.getUserId());
+        try {
+            UserResponseDto user = userService.requireUser(request.getUserId());
+            Principal.Builder principal = Principal.newBuilder()
+                    .setUserId(user.getId())
+                    .setEmail(Objects.toString(user.getEmail(), ""))
+                    .setFullName(Objects.toString(user.getFullName(), ""))
+                    .setStatus(user.getStatus() == null ? "" : user.getStatus().name())
+                    .setEmailVerified(user.isEmailVerified());
+            if (user.getRoles() != null) {
+                user.getRoles().stream()
+                        .map(RoleResponseResponseDto::getCode)
+                        .filter(Objects::nonNull)
+                        .forEach(principal::addRoles);
+            }
+            responseObserver.onNext(principal.build());
+            responseObserver.onCompleted();
+        } catch (Exception ex) {
+            responseObserver.onError(toStatus(ex));
+        }
+    }
+
+    @Override
+    public StreamObserver<ValidateTokenRequest> validateTokens(StreamObserver<ValidateTokenResponse> responseObserver) {
+        return new StreamObserver<>() {
+            // Set once the call has been closed with an error; later requests are dropped
+            private boolean failed;
+
+            @Override
+            public void onNext(ValidateTokenRequest request) {
+                if (failed) return;
+                try {
+                    responseObserver.onNext(validate(request));
+                } catch (Exception ex) {
+                    failed = true;
+                    responseObserver.onError(toStatus(ex));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("gRPC ValidateTokens stream cancelled by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed) responseObserver.onCompleted();
+            }
+        };
+    }
+
+    // ------------------ helper ------------------
+
+    private ValidateTokenResponse validate(ValidateTokenRequest request) {
+        IntrospectionResponseDto r = introspectionService.introspect(request.getToken());
+        ValidateTokenResponse.Builder out = ValidateTokenResponse.newBuilder()
+                .setActive(r.isActive())
+                .setCacheMaxAgeSeconds(r.getCacheMaxAgeSeconds());
+        if (!r.isActive()) return out.build();
+
+        out.setTokenType(r.getTokenType());
+        if (r.getClientId() != null) {
+            out.setClientId(r.getClientId());
+        } else {
+            out.setUserId(Integer.parseInt(r.getSub()));
+        }
+        if (r.getIat() != null) out.setIssuedAt(r.getIat());
+        if (r.getExp() != null) out.setExpiresAt(r.getExp());
+        if (r.getScope() != null && !r.getScope().isEmpty()) {
+            for (String role : r.getScope().split(" ")) out.addRoles(role);
+        }
+        return out.build();
+    }
+
+    private static Throwable toStatus(Exception ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(ex.getMessage()).asRuntimeException();
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(ex.getMessage()).asRuntimeException();
+        }
+        log.error(ex.getMessage(), ex);
+        return Status.INTERNAL.withDescription("Unexpected error").asRuntimeException();
+    }
+}
@@ -0,0 +1,50 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.domain.role.Permission;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of one of our access tokens. User tokens carry the numeric user id as {@code sub};
+ * service-client tokens carry the client id in both {@code sub} and {@code cid} and have
+ * {@code userId == 0}. {@code permissions} is the {@link Permission} mask from the {@code perms} claim.
+ */
+public record AccessTokenClaims(
+        int userId,
+        String jti,
+        List<String> roles,
+        int tokenVersion,
+        Instant issuedAt,
+        Instant expiresAt,
+        String clientId,
+        long permissions
+) {
+
+    public boolean isServiceClient() {
+        return clientId != null;
+    }
+
+    /** Value of the {@code sub} claim. */
+    public String subject() {
+        return isServiceClient() ? clientId : String.valueOf(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static AccessTokenClaims from(Claims claims) {
+        List<String> roles = (List<String>) claims.get("roles", List.class);
+        Integer version = claims.get("ver", Integer.class);
+        String clientId = claims.get("cid", String.class);
+        String perms = claims.get("perms", String.class);
+        return new AccessTokenClaims(
+                clientId == null ? Integer.parseInt(claims.getSubject()) : 0,
+                claims.getId(),
+                roles == null ? List.of() : List.copyOf(roles),
+                version == null ? 0 : version,
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant(),
+                clientId,
+                Permission.decode(perms));
+    }
+}
@@ -0,0 +1,41 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.domain.client.ServiceClientService;
+import com.amaravathi.tradeidentity.domain.revocation.AccessTokenDenylist;
+import com.amaravathi.tradeidentity.domain.user.TokenVersionIndex;
+import com.amaravathi.tradeidentity.domain.user.UserStatus;
+import com.amaravathi.tradeidentity.domain.user.UserStatusIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Post-signature checks for an access token, all answered from memory:
+ * the user still exists and is not disabled, the token predates no revocation
+ * (token version) and it was not logged out individually (jti denylist).
+ * Service-client tokens only need their client to still be enabled.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessTokenGuard {
+
+    private final UserStatusIndex userStatusIndex;
+    private final TokenVersionIndex tokenVersionIndex;
+    private final AccessTokenDenylist denylist;
+    private final ServiceClientService serviceClientService;
+
+    public boolean isUsable(AccessTokenClaims claims) {
+        if (claims.isServiceClient()) {
+            return serviceClientService.isEnabled(claims.clientId())
+                    && !denylist.isRevoked(claims.jti(), claims.expiresAt());
+        }
+
+        UserStatus status = userStatusIndex.statusOf(claims.userId());
+        if (status == null || status == UserStatus.DISABLED) return false;
+
+        // Tokens minted before the last logout-all / disable / role change are revoked
+        if (claims.tokenVersion() < tokenVersionIndex.versionOf(claims.userId())) return false;
+
+        // Single-session logout
+        return !denylist.isRevoked(claims.jti(), claims.expiresAt());
+    }
+}
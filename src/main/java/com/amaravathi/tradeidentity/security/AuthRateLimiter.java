@@ -0,0 +1,86 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.common.TooManyRequestsException;
+import com.amaravathi.tradeidentity.config.RateLimitProperties;
+import com.amaravathi.tradeidentity.util.StripedTokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated, expensive auth endpoints per client IP and per email,
+ * before any DB or password-hash work. Limits come from {@code security.rate-limit.endpoints}.
+ */
+@Component
+@Slf4j
+public class AuthRateLimiter {
+
+    public static final String SIGN_IN = "sign-in";
+    public static final String SIGN_UP = "sign-up";
+    public static final String MAGIC_LINK = "magic-link";
+    public static final String EMAIL_AVAILABILITY = "email-availability";
+    public static final String MAGIC_LOGIN = "magic-login";
+    public static final String CLIENT_TOKEN = "client-token";
+
+    private final RateLimitProperties props;
+    private final StripedTokenBuckets buckets;
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimiter(RateLimitProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.buckets = new StripedTokenBuckets(props.getStripes(), props.getMaxKeys());
+        this.meterRegistry = meterRegistry;
+        log.info("Auth rate limiting enabled={} endpoints={}", props.isEnabled(), props.getEndpoints().keySet());
+    }
+
+    /** Throws {@link TooManyRequestsException} if this IP or email is over the endpoint's limit. */
+    public void check(String endpoint, HttpServletRequest request, String email) {
+        if (!props.isEnabled()) return;
+        RateLimitProperties.Endpoint limits = props.getEndpoints().get(endpoint);
+        if (limits == null) return;
+
+        acquire(endpoint, "ip", request.getRemoteAddr(), limits.getIp());
+        if (email != null) {
+            acquire(endpoint, "email", email.trim().toLowerCase(Locale.ROOT), limits.getEmail());
+        }
+    }
+
+    /**
+     * Same as {@link #check} for the client-credentials grant, keyed by IP and the presented
+     * {@code client_id}. Client ids are compared as given; they are case-sensitive.
+     */
+    public void checkClient(String endpoint, HttpServletRequest request, String clientId) {
+        if (!props.isEnabled()) return;
+        RateLimitProperties.Endpoint limits = props.getEndpoints().get(endpoint);
+        if (limits == null) return;
+
+        acquire(endpoint, "ip", request.getRemoteAddr(), limits.getIp());
+        if (clientId != null) {
+            acquire(endpoint, "client", clientId.trim(), limits.getClient());
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    private void acquire(String endpoint, String dimension, String value, RateLimitProperties.Limit limit) {
+        if (limit == null || value == null || value.isEmpty()) return;
+
+        long waitNanos = buckets.tryAcquire(endpoint + '|' + dimension + '|' + value,
+                limit.getCapacity(), limit.getPerMinute() / 60.0);
+        if (waitNanos == 0) return;
+
+        Counter.builder("ratelimit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("key", dimension)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Rate limited endpoint={} {}={}", endpoint, dimension, value);
+        throw new TooManyRequestsException("Too many requests, please retry later",
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.util.SortedHashFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Rejects new passwords that appear in an offline breach corpus: a sorted binary file of
+ * SHA-1 digests (or their leading {@code recordBytes} bytes), looked up through
+ * {@link SortedHashFile} without leaving the process. Disabled when no file is configured.
+ */
+@Component
+@Slf4j
+public class BreachedPasswordChecker {
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    });
+
+    private final SortedHashFile corpus;
+    private final Counter rejected;
+
+    public BreachedPasswordChecker(
+            @Value("${security.breachedPasswords.file:}") String file,
+            @Value("${security.breachedPasswords.recordBytes:20}") int recordBytes,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        if (file == null || file.isBlank()) {
+            this.corpus = null;
+            log.info("Breached password check disabled (no corpus file configured)");
+        } else {
+            this.corpus = new SortedHashFile(Path.of(file), recordBytes);
+            log.info("Breached password corpus mapped file={} records={} recordBytes={}",
+                    file, corpus.recordCount(), recordBytes);
+        }
+        this.rejected = Counter.builder("password.breached.rejected").register(meterRegistry);
+    }
+
+    public boolean isBreached(String rawPassword) {
+        if (corpus == null || rawPassword == null) return false;
+        byte[] digest = SHA1.get().digest(rawPassword.getBytes(StandardCharsets.UTF_8));
+        return corpus.contains(digest);
+    }
+
+    /** Throws {@link IllegalArgumentException} (400) if the password is in the corpus. */
+    public void requireNotBreached(String rawPassword) {
+        if (isBreached(rawPassword)) {
+            rejected.increment();
+            throw new IllegalArgumentException("This password has appeared in a data breach, please choose a different one");
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (corpus != null) corpus.close();
+    }
+}
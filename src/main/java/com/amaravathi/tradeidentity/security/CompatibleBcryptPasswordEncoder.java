@@ -0,0 +1,54 @@
+package com.amaravathi.tradeidentity.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Bcrypt encoder that stays readable by the previous release during rolling deploys and
+ * rollbacks: it writes plain {@code $2a$...} hashes, as a bare {@link BCryptPasswordEncoder}
+ * does, and still matches {@code {bcrypt}}-prefixed hashes written by builds that used a
+ * {@code DelegatingPasswordEncoder}.
+ * <p>
+ * Prefixed hashes, and hashes below the configured cost, report {@link #upgradeEncoding}, so
+ * the next sign-in rewrites them in the plain format. Switch to prefixed hashes in a later
+ * release, once no node of the previous one can serve traffic.
+ */
+public class CompatibleBcryptPasswordEncoder implements PasswordEncoder {
+
+    private static final String PREFIX = "{bcrypt}";
+
+    private final BCryptPasswordEncoder bcrypt;
+
+    public CompatibleBcryptPasswordEncoder(int strength) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bcrypt.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) return false;
+        return bcrypt.matches(rawPassword, strip(encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) return false;
+        if (encodedPassword.startsWith(PREFIX)) return true;
+        try {
+            return bcrypt.upgradeEncoding(encodedPassword);
+        } catch (IllegalArgumentException notBcrypt) {
+            // not a hash we can re-encode from; matches() already rejects it
+            return false;
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    private static String strip(String encodedPassword) {
+        return encodedPassword.startsWith(PREFIX) ? encodedPassword.substring(PREFIX.length()) : encodedPassword;
+    }
+}
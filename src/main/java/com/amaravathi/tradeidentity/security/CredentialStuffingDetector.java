@@ -0,0 +1,164 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.common.TooManyRequestsException;
+import com.amaravathi.tradeidentity.config.StuffingDetectionProperties;
+import com.amaravathi.tradeidentity.util.CountMinSketch;
+import com.amaravathi.tradeidentity.util.HeavyHitters;
+import com.amaravathi.tradeidentity.util.StripedTokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming detector for distributed credential stuffing: many IPs, few attempts each.
+ * <p>
+ * Failed sign-ins are counted per email, per client IP prefix (/24, or /48 for IPv6) and
+ * per user agent in sliding-window count-min sketches, with a top-K tracker per dimension.
+ * A key is acted on only when its estimate crosses the dimension's threshold <em>and</em> it
+ * is one of that dimension's top K, so collision noise under heavy attack traffic can flag at
+ * most K keys rather than every key. IP prefixes and user agents are then refused before the
+ * credential lookup and password check; emails are only paced, so nobody can lock a named
+ * user out by failing on their address. Memory is fixed by the sketch shape and K, however
+ * large the attack.
+ */
+@Component
+@Slf4j
+public class CredentialStuffingDetector {
+
+    public enum Dimension { EMAIL, IP_PREFIX, USER_AGENT }
+
+    /** {@code blocked} means refused for IP prefixes and user agents, paced for emails. */
+    public record Offender(String key, long failures, boolean blocked) {
+    }
+
+    private final StuffingDetectionProperties props;
+    private final MeterRegistry meterRegistry;
+    private final Map<Dimension, CountMinSketch> sketches = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, HeavyHitters> topOffenders = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, Long> thresholds = new EnumMap<>(Dimension.class);
+    private final StripedTokenBuckets flaggedEmails;
+    private final long retryAfterSeconds;
+
+    public CredentialStuffingDetector(StuffingDetectionProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+
+        long slotMillis = props.getWindowMinutes() * 60_000L / props.getSlots();
+        int width = CountMinSketch.widthFor(props.getExpectedFailures(), props.getMaxOverestimate());
+        for (Dimension d : Dimension.values()) {
+            CountMinSketch sketch = new CountMinSketch(props.getDepth(), width, props.getSlots(), slotMillis);
+            sketches.put(d, sketch);
+            topOffenders.put(d, new HeavyHitters(props.getTopK(), sketch::estimate));
+        }
+        thresholds.put(Dimension.EMAIL, props.getEmailThreshold());
+        thresholds.put(Dimension.IP_PREFIX, props.getIpPrefixThreshold());
+        thresholds.put(Dimension.USER_AGENT, props.getUserAgentThreshold());
+        this.flaggedEmails = new StripedTokenBuckets(16, Math.max(16, props.getTopK() * 4));
+        this.retryAfterSeconds = Math.max(1, slotMillis / 1000);
+        log.info("Stuffing detection enabled={} sketch={}x{} per dimension ({} KB), expectedFailures={} maxOverestimate={}",
+                props.isEnabled(), props.getDepth(), width,
+                sketches.get(Dimension.EMAIL).sizeInBytes() / 1024, props.getExpectedFailures(), props.getMaxOverestimate());
+    }
+
+    /**
+     * Refuses the attempt if its IP prefix or user agent is a flagged heavy hitter, and paces it
+     * to {@code emailAttemptsPerMinute} if its email is.
+     */
+    public void check(HttpServletRequest request, String email) {
+        if (!props.isEnabled()) return;
+
+        Map<Dimension, String> keys = keys(request, email);
+        for (Map.Entry<Dimension, String> k : keys.entrySet()) {
+            Dimension d = k.getKey();
+            if (!isFlagged(d, k.getValue())) continue;
+
+            if (d == Dimension.EMAIL) {
+                long waitNanos = flaggedEmails.tryAcquire(k.getValue(), 1, props.getEmailAttemptsPerMinute() / 60.0);
+                if (waitNanos == 0) continue;
+                reject("stuffing.throttled", d, k.getValue());
+                throw new TooManyRequestsException("Too many failed sign-in attempts for this account, "
+                        + "please retry shortly or sign in with a magic link",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+            }
+            reject("stuffing.blocked", d, k.getValue());
+            throw new TooManyRequestsException("Too many failed sign-in attempts, please retry later",
+                    retryAfterSeconds);
+        }
+    }
+
+    public void recordFailure(HttpServletRequest request, String email) {
+        if (!props.isEnabled()) return;
+
+        keys(request, email).forEach((dimension, key) -> {
+            long estimate = sketches.get(dimension).add(key);
+            topOffenders.get(dimension).offer(key, estimate);
+        });
+    }
+
+    /** Current top offenders per dimension, with estimates refreshed against the live window. */
+    public Map<Dimension, List<Offender>> topOffenders() {
+        Map<Dimension, List<Offender>> result = new EnumMap<>(Dimension.class);
+        for (Dimension d : Dimension.values()) {
+            // Every entry here is in the top K, so the threshold alone decides
+            result.put(d, topOffenders.get(d).snapshot().stream()
+                    .map(e -> new Offender(e.key(), e.count(), isOverThreshold(d, e.count())))
+                    .toList());
+        }
+        return result;
+    }
+
+    // ------------------ helper ------------------
+
+    /** Over threshold and among the top K; noise alone cannot flag more than K keys per dimension. */
+    private boolean isFlagged(Dimension d, String key) {
+        return isOverThreshold(d, sketches.get(d).estimate(key)) && topOffenders.get(d).contains(key);
+    }
+
+    private void reject(String metric, Dimension d, String key) {
+        Counter.builder(metric)
+                .tag("dimension", d.name())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Sign-in {} by stuffing detector {}={}", d == Dimension.EMAIL ? "throttled" : "blocked", d, key);
+    }
+
+    /** A threshold of 0 means the dimension is tracked for the admin view but never blocks. */
+    private boolean isOverThreshold(Dimension d, long failures) {
+        long threshold = thresholds.get(d);
+        return threshold > 0 && failures >= threshold;
+    }
+
+    private static Map<Dimension, String> keys(HttpServletRequest request, String email) {
+        Map<Dimension, String> keys = new EnumMap<>(Dimension.class);
+        if (email != null && !email.isBlank()) keys.put(Dimension.EMAIL, email.trim().toLowerCase(Locale.ROOT));
+        String prefix = ipPrefix(request.getRemoteAddr());
+        if (prefix != null) keys.put(Dimension.IP_PREFIX, prefix);
+        String ua = request.getHeader(HttpHeaders.USER_AGENT);
+        keys.put(Dimension.USER_AGENT, ua == null || ua.isBlank() ? "(none)" : ua);
+        return keys;
+    }
+
+    private static String ipPrefix(String remoteAddr) {
+        if (remoteAddr == null || remoteAddr.isEmpty()) return null;
+        try {
+            // Numeric literal only, so this never does a DNS lookup
+            byte[] a = InetAddress.getByName(remoteAddr).getAddress();
+            if (a.length == 4) {
+                return (a[0] & 0xff) + "." + (a[1] & 0xff) + "." + (a[2] & 0xff) + ".0/24";
+            }
+            return String.format("%x:%x:%x::/48",
+                    ((a[0] & 0xff) << 8) | (a[1] & 0xff),
+                    ((a[2] & 0xff) << 8) | (a[3] & 0xff),
+                    ((a[4] & 0xff) << 8) | (a[5] & 0xff));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.util.DomainSuffixTrie;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects emails whose domain, or a parent domain, is on the local blocklist (disposable
+ * and blocked providers). The list file holds one domain per line; {@code #} starts a
+ * comment and a leading {@code *.} or {@code .} is ignored since subdomains always match.
+ * <p>
+ * The file is re-read when its modification time or size changes; the new trie is built
+ * off to the side and swapped in with one volatile write, and a broken file keeps the
+ * previous list. Disabled when no file is configured.
+ */
+@Component
+@Slf4j
+public class EmailDomainFilter {
+
+    private final Path file;
+    private final Counter rejected;
+
+    private volatile DomainSuffixTrie blocked = DomainSuffixTrie.of(List.of());
+    private volatile Object loadedStamp;
+
+    public EmailDomainFilter(
+            @Value("${security.emailDomains.blocklistFile:}") String file,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        this.file = (file == null || file.isBlank()) ? null : Path.of(file);
+        this.rejected = Counter.builder("email.domain.rejected").register(meterRegistry);
+        Gauge.builder("email.domain.blocked", () -> blocked.size()).register(meterRegistry);
+
+        if (this.file == null) {
+            log.info("Email domain blocklist disabled (no file configured)");
+        } else {
+            load();
+        }
+    }
+
+    public boolean isBlocked(String email) {
+        if (email == null) return false;
+        int at = email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) return false;
+        String domain = email.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+        if (domain.endsWith(".")) domain = domain.substring(0, domain.length() - 1);
+        return blocked.matches(domain);
+    }
+
+    /** Throws {@link IllegalArgumentException} (400) if the email's domain is blocked. */
+    public void requireAllowed(String email) {
+        if (isBlocked(email)) {
+            rejected.increment();
+            throw new IllegalArgumentException("Email addresses from this domain are not accepted");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.emailDomains.reloadSeconds}", timeUnit = TimeUnit.SECONDS)
+    public void reloadIfChanged() {
+        if (file == null) return;
+        try {
+            if (!stamp().equals(loadedStamp)) load();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Email domain blocklist reload failed, keeping previous list file={}", file, e);
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    private void load() throws IOException {
+        Object stamp = stamp();
+        List<String> domains = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String domain = normalize(line);
+                if (!domain.isEmpty()) domains.add(domain);
+            }
+        }
+        blocked = DomainSuffixTrie.of(domains);
+        loadedStamp = stamp;
+        log.info("Email domain blocklist loaded file={} domains={}", file, blocked.size());
+    }
+
+    private Object stamp() throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return List.of(attrs.lastModifiedTime(), attrs.size());
+    }
+
+    private static String normalize(String line) {
+        int hash = line.indexOf('#');
+        String d = (hash >= 0 ? line.substring(0, hash) : line).trim().toLowerCase(Locale.ROOT);
+        if (d.startsWith("*.")) d = d.substring(2);
+        while (d.startsWith(".")) d = d.substring(1);
+        while (d.endsWith(".")) d = d.substring(0, d.length() - 1);
+        return d;
+    }
+}
@@ -0,0 +1,323 @@
+package com.amaravathi.tradeidentity.security;
+
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Verifier specialised for the HS256 access tokens minted by {@link JwtTokenService}.
+ * <p>
+ * It checks the HMAC over the raw token bytes with a per-thread {@link Mac} and scans the
+ * flat claim object directly, without building a Jackson tree. Anything that does not
+ * match our exact token profile (other header, unknown claim, escaped strings, expired,
+ * foreign issuer...) returns {@code null} so the caller falls back to jjwt, which then
+ * produces the authoritative result and error.
+ */
+public class FastAccessTokenVerifier {
+
+    /** base64url of {"alg":"HS256"}, the only header generateAccessToken emits for HS256. */
+    private static final String HS256_HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final int MAC_LENGTH = 32;
+    private static final int MAC_B64_LENGTH = 43;
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final byte[] KEY_ISS = ascii("iss");
+    private static final byte[] KEY_SUB = ascii("sub");
+    private static final byte[] KEY_IAT = ascii("iat");
+    private static final byte[] KEY_EXP = ascii("exp");
+    private static final byte[] KEY_ROLES = ascii("roles");
+    private static final byte[] KEY_VER = ascii("ver");
+    private static final byte[] KEY_JTI = ascii("jti");
+    private static final byte[] KEY_CID = ascii("cid");
+    private static final byte[] KEY_PERMS = ascii("perms");
+
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) DECODE[alphabet.charAt(i)] = (byte) i;
+    }
+
+    private final byte[] issuer;
+    private final ThreadLocal<Scratch> scratch;
+
+    public FastAccessTokenVerifier(SecretKey key, String issuer) {
+        this.issuer = issuer.getBytes(StandardCharsets.UTF_8);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(key));
+    }
+
+    public AccessTokenClaims verify(String jwt) {
+        int len = jwt.length();
+        int payloadStart = HS256_HEADER.length() + 1;
+        if (len > MAX_TOKEN_LENGTH || len <= payloadStart
+                || !jwt.startsWith(HS256_HEADER) || jwt.charAt(payloadStart - 1) != '.') {
+            return null;
+        }
+        int sigDot = jwt.indexOf('.', payloadStart);
+        if (sigDot < 0 || len - sigDot - 1 != MAC_B64_LENGTH) return null;
+
+        Scratch s = scratch.get();
+        byte[] raw = s.token(len);
+        for (int i = 0; i < len; i++) {
+            char c = jwt.charAt(i);
+            if (c > 0x7f) return null;
+            raw[i] = (byte) c;
+        }
+
+        // ---- signature: constant-time compare over the raw header.payload bytes
+        if (decode(raw, sigDot + 1, len, s.actualMac) != MAC_LENGTH) return null;
+        s.mac.update(raw, 0, sigDot);
+        try {
+            s.mac.doFinal(s.expectedMac, 0);
+        } catch (Exception e) {
+            s.mac.reset();
+            return null;
+        }
+        if (!MessageDigest.isEqual(s.expectedMac, s.actualMac)) {
+            throw new SignatureException("JWT signature does not match locally computed signature");
+        }
+
+        // ---- claims
+        byte[] payload = s.payload((sigDot - payloadStart) * 3 / 4 + 1);
+        int n = decode(raw, payloadStart, sigDot, payload);
+        if (n < 0) return null;
+
+        AccessTokenClaims claims = scan(payload, n);
+        if (claims == null || !claims.expiresAt().isAfter(Instant.now())) return null;
+        return claims;
+    }
+
+    // ------------------ claim scanner ------------------
+
+    /** Scans the compact JSON object jjwt writes for our claims: no whitespace, known keys only. */
+    private AccessTokenClaims scan(byte[] p, int n) {
+        if (n < 2 || p[0] != '{' || p[n - 1] != '}') return null;
+
+        boolean issOk = false;
+        int subStart = -1;
+        int subEnd = -1;
+        int cidStart = -1;
+        int cidEnd = -1;
+        long iat = -1;
+        long exp = -1;
+        long ver = -1;
+        long perms = -1;
+        String jti = null;
+        List<String> roles = null;
+
+        int i = 1;
+        while (true) {
+            if (i >= n || p[i] != '"') return null;
+            int keyStart = i + 1;
+            int keyEnd = indexOf(p, (byte) '"', keyStart, n);
+            if (keyEnd < 0 || keyEnd + 1 >= n || p[keyEnd + 1] != ':') return null;
+            i = keyEnd + 2;
+
+            if (keyIs(p, keyStart, keyEnd, KEY_ISS)) {
+                int end = stringEnd(p, i, n);
+                if (end < 0 || issOk) return null;
+                issOk = Arrays.equals(p, i + 1, end, issuer, 0, issuer.length);
+                if (!issOk) return null;
+                i = end + 1;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_SUB)) {
+                int end = stringEnd(p, i, n);
+                if (end < 0 || subStart >= 0) return null;
+                subStart = i + 1;
+                subEnd = end;
+                i = end + 1;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_CID)) {
+                int end = stringEnd(p, i, n);
+                if (end < 0 || cidStart >= 0) return null;
+                cidStart = i + 1;
+                cidEnd = end;
+                i = end + 1;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_IAT)) {
+                int end = numberEnd(p, i, n);
+                if (end < 0 || iat >= 0) return null;
+                iat = digits(p, i, end);
+                i = end;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_EXP)) {
+                int end = numberEnd(p, i, n);
+                if (end < 0 || exp >= 0) return null;
+                exp = digits(p, i, end);
+                i = end;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_JTI)) {
+                int end = stringEnd(p, i, n);
+                if (end < 0 || jti != null) return null;
+                jti = new String(p, i + 1, end - i - 1, StandardCharsets.US_ASCII);
+                i = end + 1;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_VER)) {
+                int end = numberEnd(p, i, n);
+                if (end < 0 || ver >= 0) return null;
+                ver = digits(p, i, end);
+                if (ver > Integer.MAX_VALUE) return null;
+                i = end;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_PERMS)) {
+                int end = stringEnd(p, i, n);
+                if (end < 0 || perms >= 0) return null;
+                perms = base36(p, i + 1, end);
+                if (perms < 0) return null;
+                i = end + 1;
+            } else if (keyIs(p, keyStart, keyEnd, KEY_ROLES)) {
+                if (roles != null || i >= n || p[i] != '[') return null;
+                roles = new ArrayList<>(2);
+                i++;
+                while (i < n && p[i] != ']') {
+                    int end = stringEnd(p, i, n);
+                    if (end < 0) return null;
+                    roles.add(new String(p, i + 1, end - i - 1, StandardCharsets.UTF_8));
+                    i = end + 1;
+                    if (i < n && p[i] == ',') i++;
+                }
+                if (i >= n) return null;
+                i++;
+            } else {
+                return null;
+            }
+
+            if (i >= n) return null;
+            if (p[i] == ',') {
+                i++;
+                continue;
+            }
+            if (p[i] == '}' && i == n - 1) break;
+            return null;
+        }
+
+        if (!issOk || subStart < 0 || exp < 0) return null;
+
+        // User tokens: numeric sub. Service-client tokens: sub == cid, no user id.
+        int userId = 0;
+        String clientId = null;
+        if (cidStart < 0) {
+            long v = digits(p, subStart, subEnd);
+            if (v <= 0 || v > Integer.MAX_VALUE) return null;
+            userId = (int) v;
+        } else {
+            if (!Arrays.equals(p, subStart, subEnd, p, cidStart, cidEnd)) return null;
+            clientId = new String(p, cidStart, cidEnd - cidStart, StandardCharsets.UTF_8);
+        }
+
+        return new AccessTokenClaims(
+                userId,
+                jti,
+                roles == null ? List.of() : List.copyOf(roles),
+                ver < 0 ? 0 : (int) ver,
+                iat < 0 ? null : Instant.ofEpochSecond(iat),
+                Instant.ofEpochSecond(exp),
+                clientId,
+                perms < 0 ? 0 : perms);
+    }
+
+    // ------------------ helper ------------------
+
+    private static boolean keyIs(byte[] p, int from, int to, byte[] key) {
+        return Arrays.equals(p, from, to, key, 0, key.length);
+    }
+
+    /** Index of the closing quote of a string starting at {@code i}; -1 if absent or escaped. */
+    private static int stringEnd(byte[] p, int i, int n) {
+        if (i >= n || p[i] != '"') return -1;
+        for (int j = i + 1; j < n; j++) {
+            if (p[j] == '\\') return -1;
+            if (p[j] == '"') return j;
+        }
+        return -1;
+    }
+
+    private static int numberEnd(byte[] p, int i, int n) {
+        int j = i;
+        while (j < n && p[j] >= '0' && p[j] <= '9') j++;
+        return (j == i || j - i > 18) ? -1 : j;
+    }
+
+    private static long digits(byte[] p, int from, int to) {
+        if (from >= to || to - from > 18) return -1;
+        long v = 0;
+        for (int j = from; j < to; j++) {
+            if (p[j] < '0' || p[j] > '9') return -1;
+            v = v * 10 + (p[j] - '0');
+        }
+        return v;
+    }
+
+    /** Base36 value as written by {@code Long.toString(v, 36)}; -1 if malformed or longer than 12 digits. */
+    private static long base36(byte[] p, int from, int to) {
+        if (from >= to || to - from > 12) return -1;
+        long v = 0;
+        for (int j = from; j < to; j++) {
+            int d;
+            if (p[j] >= '0' && p[j] <= '9') d = p[j] - '0';
+            else if (p[j] >= 'a' && p[j] <= 'z') d = p[j] - 'a' + 10;
+            else return -1;
+            v = v * 36 + d;
+        }
+        return v;
+    }
+
+    private static int indexOf(byte[] p, byte b, int from, int to) {
+        for (int j = from; j < to; j++) {
+            if (p[j] == b) return j;
+        }
+        return -1;
+    }
+
+    /** Unpadded base64url decode of {@code src[from, to)} into {@code dst}; -1 if malformed or too long. */
+    private static int decode(byte[] src, int from, int to, byte[] dst) {
+        int out = 0;
+        int bits = 0;
+        int acc = 0;
+        for (int j = from; j < to; j++) {
+            int v = DECODE[src[j]];
+            if (v < 0) return -1;
+            acc = (acc << 6) | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                if (out == dst.length) return -1;
+                dst[out++] = (byte) (acc >> bits);
+                acc &= (1 << bits) - 1;
+            }
+        }
+        return bits >= 6 ? -1 : out;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Scratch {
+        final Mac mac;
+        final byte[] expectedMac = new byte[MAC_LENGTH];
+        final byte[] actualMac = new byte[MAC_LENGTH];
+        private byte[] token = new byte[1024];
+        private byte[] payload = new byte[512];
+
+        Scratch(SecretKey key) {
+            try {
+                this.mac = Mac.getInstance("HmacSHA256");
+                this.mac.init(key);
+            } catch (Exception e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        }
+
+        byte[] token(int len) {
+            if (token.length < len) token = new byte[Math.max(len, token.length * 2)];
+            return token;
+        }
+
+        byte[] payload(int len) {
+            if (payload.length < len) payload = new byte[Math.max(len, payload.length * 2)];
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.common.ApiError;
+import com.amaravathi.tradeidentity.common.ServiceBusyException;
+import com.amaravathi.tradeidentity.domain.idempotency.IdempotencyStore;
+import com.amaravathi.tradeidentity.domain.idempotency.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours an {@code Idempotency-Key} header on the configured POST endpoints (sign-up, admin
+ * create user). The first request with a key runs normally and its response is stored; a
+ * retry with the same key either waits for the first attempt (same node) or gets the stored
+ * response replayed, so the bcrypt encode and the insert run once.
+ * <p>
+ * Keys are scoped by method, path and caller. Responses below 500 (except 429) are stored;
+ * server errors release the key so the retry runs again. Reusing a key with a different
+ * body is rejected with 422. Runs after the security chain, so the caller is known.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final long waitMillis;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            @Value("${security.idempotency.paths}") String[] paths,
+            @Value("${security.idempotency.waitMillis}") long waitMillis,
+            @Value("${security.idempotency.maxBodyBytes}") int maxBodyBytes
+    ) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = Set.of(paths);
+        this.waitMillis = waitMillis;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key header", null);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large for an idempotent request", null);
+            return;
+        }
+        HttpServletRequest cached = new CachedBodyRequest(request, body);
+
+        String key = sha256(request.getMethod() + ' ' + request.getRequestURI() + ' ' + caller() + ' ' + idempotencyKey);
+        String requestHash = sha256(body);
+
+        // ---- same node: wait for the first attempt instead of repeating it
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> first;
+        try {
+            first = store.joinInFlight(key, mine);
+        } catch (ServiceBusyException ex) {
+            writeError(request, response, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex.getRetryAfterSeconds());
+            return;
+        }
+        if (first != null) {
+            awaitAndReplay(first, requestHash, request, response);
+            return;
+        }
+
+        StoredResponse result = null;
+        try {
+            // ---- any node: claim the key, or replay what the first attempt stored
+            boolean claimed;
+            try {
+                claimed = store.tryBegin(key, requestHash);
+            } catch (DataAccessException dae) {
+                log.warn("Idempotency store unavailable, running request without it path={}", request.getRequestURI(), dae);
+                chain.doFilter(cached, response);
+                return;
+            }
+            if (!claimed) {
+                Optional<StoredResponse> stored = store.find(key);
+                if (stored.isPresent() && stored.get().isComplete()) {
+                    result = stored.get();
+                    replay(result, requestHash, request, response);
+                } else {
+                    writeError(request, response, HttpStatus.CONFLICT,
+                            "A request with this Idempotency-Key is still in progress", 1L);
+                }
+                return;
+            }
+
+            result = execute(key, requestHash, cached, response, chain);
+
+        } finally {
+            mine.complete(result);
+            store.leaveInFlight(key, mine);
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    /** Runs the request and stores a replayable response; returns null if nothing was stored. */
+    private StoredResponse execute(String key, String requestHash, HttpServletRequest request,
+                                   HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+
+            int status = wrapper.getStatus();
+            if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) return null;
+
+            byte[] responseBody = wrapper.getContentAsByteArray();
+            StoredResponse result = new StoredResponse(requestHash, status, wrapper.getContentType(), responseBody);
+            try {
+                store.complete(key, status, wrapper.getContentType(), responseBody);
+                stored = true;
+            } catch (DataAccessException dae) {
+                log.warn("Failed to store idempotent response path={}", request.getRequestURI(), dae);
+            }
+            return result;
+        } finally {
+            if (!stored) store.release(key);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void awaitAndReplay(CompletableFuture<StoredResponse> first, String requestHash,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredResponse result;
+        try {
+            result = first.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            writeError(request, response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress", 1L);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the idempotent request", e);
+        } catch (ExecutionException e) {
+            result = null;
+        }
+
+        if (result == null) {
+            writeError(request, response, HttpStatus.CONFLICT, "The previous request with this Idempotency-Key failed, please retry", 1L);
+            return;
+        }
+        replay(result, requestHash, request, response);
+    }
+
+    private void replay(StoredResponse stored, String requestHash,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request body", null);
+            return;
+        }
+        log.info("Replaying idempotent response path={} status={}", request.getRequestURI(), stored.status());
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) response.setContentType(stored.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message, Long retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (retryAfterSeconds != null) response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(OffsetDateTime.now(), status.value(),
+                status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+
+    private static String caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? "-" : auth.getName();
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Serves the already-read body to the rest of the chain. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The body is already in memory: it is available at once, then fully read. */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        if (isFinished()) listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.amaravathi.tradeidentity.security;
 
-import com.amaravathi.tradeidentity.domain.user.AppUserRepository;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -12,16 +11,25 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // There are only a handful of distinct role sets; share one immutable authority list per set
+    private static final int MAX_AUTHORITY_SETS = 256;
+
     private final JwtTokenService jwtTokenService;
-    private final AppUserRepository userRepo;
+    private final AccessTokenGuard accessTokenGuard;
+    private final VerifiedTokenCache tokenCache;
+    private final Map<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
 
-    public JwtAuthFilter(JwtTokenService jwtTokenService, AppUserRepository userRepo) {
+    public JwtAuthFilter(JwtTokenService jwtTokenService, AccessTokenGuard accessTokenGuard,
+                         VerifiedTokenCache tokenCache) {
         this.jwtTokenService = jwtTokenService;
-        this.userRepo = userRepo;
+        this.accessTokenGuard = accessTokenGuard;
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -36,23 +44,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         try {
             String jwt = header.substring(7);
-            Claims claims = jwtTokenService.parseAndValidate(jwt).getPayload();
-            String userId = claims.getSubject();
 
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Optional check: user exists & active
-                var user = userRepo.findById(Integer.valueOf(userId))
-                        .orElseThrow();
-
-                @SuppressWarnings("unchecked")
-                List<String> roles = (List<String>) claims.get("roles", List.class);
+                VerifiedAccessToken verified = tokenCache.get(jwt);
+                if (verified == null) {
+                    verified = verify(jwt);
+                    tokenCache.put(jwt, verified);
+                }
 
-                var authorities = roles.stream()
-                        .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
-                        .toList();
+                // User status, token version and denylist (in-memory, no DB round trip)
+                if (!accessTokenGuard.isUsable(verified.claims())) {
+                    throw new IllegalStateException("User disabled or access token revoked");
+                }
 
-                var principal = new SecurityUser(user.getId(), user.getEmail(), authorities);
-                var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+                var principal = verified.principal();
+                var auth = new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
 
@@ -63,4 +69,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             response.getWriter().write("{\"message\":\"Invalid or expired access token\"}");
         }
     }
+
+    private VerifiedAccessToken verify(String jwt) {
+        AccessTokenClaims claims = jwtTokenService.verifyAccessToken(jwt);
+
+        var principal = new SecurityUser(claims.userId(), claims.clientId(), claims.permissions(),
+                authoritiesFor(claims.roles()));
+        return new VerifiedAccessToken(principal, claims);
+    }
+
+    private List<GrantedAuthority> authoritiesFor(List<String> roles) {
+        List<GrantedAuthority> authorities = authoritiesByRoles.get(roles);
+        if (authorities != null) return authorities;
+
+        authorities = roles.stream()
+                .<GrantedAuthority>map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                .toList();
+        if (authoritiesByRoles.size() < MAX_AUTHORITY_SETS) authoritiesByRoles.putIfAbsent(roles, authorities);
+        return authorities;
+    }
 }
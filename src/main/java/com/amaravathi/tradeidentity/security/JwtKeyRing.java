@@ -0,0 +1,147 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.config.JwtSigningProperties;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Asymmetric signing keys indexed by {@code kid}.
+ * <p>
+ * Rotation is driven by each key's window: a key signs from {@code activeFrom} until
+ * {@code retireAt}, is published in the JWKS as soon as it is configured (so verifiers can
+ * cache it ahead of time), and keeps verifying for one access-token TTL after retirement.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    public record SigningKey(String kid, PrivateKey privateKey, PublicKey publicKey,
+                             Instant activeFrom, Instant retireAt) {
+    }
+
+    private final String algorithm;
+    private final Duration verifyGrace;
+    private final Map<String, SigningKey> keysByKid;
+    private final List<SigningKey> signingOrder;
+
+    public JwtKeyRing(
+            JwtSigningProperties props,
+            @Value("${security.jwt.accessTtlMinutes}") long ttlMinutes
+    ) {
+        this.algorithm = props.getAlgorithm();
+        this.verifyGrace = Duration.ofMinutes(ttlMinutes);
+
+        Map<String, SigningKey> byKid = new HashMap<>();
+        if (isAsymmetric()) {
+            for (JwtSigningProperties.Key k : props.getKeys()) {
+                if (k.getKid() == null || k.getKid().isBlank() || k.getPublicKey() == null) {
+                    throw new IllegalStateException("JWT signing key needs kid and publicKey");
+                }
+                SigningKey key = new SigningKey(
+                        k.getKid(),
+                        k.getPrivateKey() == null ? null : decodePrivate(k.getPrivateKey()),
+                        decodePublic(k.getPublicKey()),
+                        k.getActiveFrom() == null ? Instant.EPOCH : k.getActiveFrom(),
+                        k.getRetireAt());
+                if (byKid.put(key.kid(), key) != null) {
+                    throw new IllegalStateException("Duplicate JWT signing kid: " + key.kid());
+                }
+            }
+            if (byKid.values().stream().noneMatch(k -> k.privateKey() != null)) {
+                throw new IllegalStateException("security.jwt.signing." + algorithm + " needs at least one private key");
+            }
+            log.info("JWT key ring loaded algorithm={} kids={}", algorithm, byKid.keySet());
+        }
+        this.keysByKid = Map.copyOf(byKid);
+        this.signingOrder = byKid.values().stream()
+                .filter(k -> k.privateKey() != null)
+                .sorted(Comparator.comparing(SigningKey::activeFrom).reversed())
+                .toList();
+    }
+
+    public boolean isAsymmetric() {
+        return "ES256".equals(algorithm) || "EdDSA".equals(algorithm);
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /** Newest key whose signing window contains now. */
+    public SigningKey currentSigningKey() {
+        Instant now = Instant.now();
+        for (SigningKey k : signingOrder) {
+            if (!k.activeFrom().isAfter(now) && (k.retireAt() == null || now.isBefore(k.retireAt()))) {
+                return k;
+            }
+        }
+        throw new IllegalStateException("No JWT signing key is active");
+    }
+
+    /** O(1) lookup by kid; {@code null} if unknown or past its verification window. */
+    public PublicKey verificationKey(String kid) {
+        SigningKey k = keysByKid.get(kid);
+        if (k == null || !isPublished(k, Instant.now())) return null;
+        return k.publicKey();
+    }
+
+    public List<PublicJwk<?>> publishedJwks() {
+        Instant now = Instant.now();
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        for (SigningKey k : keysByKid.values()) {
+            if (!isPublished(k, now)) continue;
+            jwks.add(Jwks.builder()
+                    .key(k.publicKey())
+                    .id(k.kid())
+                    .algorithm(algorithm)
+                    .publicKeyUse("sig")
+                    .build());
+        }
+        return jwks;
+    }
+
+    // ------------------ helper ------------------
+
+    private boolean isPublished(SigningKey k, Instant now) {
+        return k.retireAt() == null || now.isBefore(k.retireAt().plus(verifyGrace));
+    }
+
+    private String keyFactoryAlgorithm() {
+        return "ES256".equals(algorithm) ? "EC" : "Ed25519";
+    }
+
+    private PrivateKey decodePrivate(String value) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm())
+                    .generatePrivate(new PKCS8EncodedKeySpec(pemBody(value)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid JWT private key", e);
+        }
+    }
+
+    private PublicKey decodePublic(String value) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm())
+                    .generatePublic(new X509EncodedKeySpec(pemBody(value)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid JWT public key", e);
+        }
+    }
+
+    private static byte[] pemBody(String value) {
+        String body = value.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
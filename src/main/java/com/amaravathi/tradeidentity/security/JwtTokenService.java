@@ -1,13 +1,21 @@
 package com.amaravathi.tradeidentity.security;
 
+import com.amaravathi.tradeidentity.domain.role.Permission;
+import com.amaravathi.tradeidentity.domain.role.RolePermissionIndex;
+import com.amaravathi.tradeidentity.domain.user.TokenVersionIndex;
+import com.amaravathi.tradeidentity.util.TokenGenerator;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
@@ -19,34 +27,129 @@ public class JwtTokenService {
     private final SecretKey key;
     private final String issuer;
     private final long accessTtlSeconds;
+    private final JwtKeyRing keyRing;
+    private final TokenVersionIndex tokenVersionIndex;
+    private final RolePermissionIndex rolePermissionIndex;
+    private final JwtParser parser;
+    private final FastAccessTokenVerifier fastVerifier;
+    private final boolean acceptHs256;
 
     public JwtTokenService(
             @Value("${security.jwt.secret}") String secret,
             @Value("${security.jwt.issuer}") String issuer,
-            @Value("${security.jwt.accessTtlMinutes}") long ttlMinutes
+            @Value("${security.jwt.accessTtlMinutes}") long ttlMinutes,
+            @Value("${security.jwt.acceptLegacyHs256:true}") boolean acceptLegacyHs256,
+            JwtKeyRing keyRing,
+            TokenVersionIndex tokenVersionIndex,
+            RolePermissionIndex rolePermissionIndex
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.issuer = issuer;
         this.accessTtlSeconds = ttlMinutes * 60;
+        this.keyRing = keyRing;
+        this.tokenVersionIndex = tokenVersionIndex;
+        this.rolePermissionIndex = rolePermissionIndex;
+        // In ES256/EdDSA mode the shared secret only verifies tokens minted before the switch
+        this.acceptHs256 = !keyRing.isAsymmetric() || acceptLegacyHs256;
+        if (keyRing.isAsymmetric()) {
+            log.info("JWT asymmetric mode algorithm={} acceptLegacyHs256={}", keyRing.algorithm(), acceptLegacyHs256);
+        }
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .requireIssuer(issuer)
+                .build();
+        this.fastVerifier = new FastAccessTokenVerifier(key, issuer);
     }
 
-    public String generateAccessToken(int userId, List<String> roleCodes) {
+    /**
+     * {@code tokenVersion} must be read from the database in the same request, not from the
+     * node-local {@link TokenVersionIndex}, which can lag a bump made on another node; it is
+     * also recorded here so this node stops accepting older tokens right away.
+     */
+    public String generateAccessToken(int userId, List<String> roleCodes, int tokenVersion) {
+        tokenVersionIndex.record(userId, tokenVersion);
         Instant now = Instant.now();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(TokenGenerator.tokenId())
                 .issuer(issuer)
                 .subject(String.valueOf(userId))
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusSeconds(accessTtlSeconds)))
                 .claim("roles", roleCodes)
-                .signWith(key, Jwts.SIG.HS256)
-                .compact();
+                .claim("perms", Permission.encode(rolePermissionIndex.maskOf(roleCodes)))
+                .claim("ver", tokenVersion);
+        return sign(builder);
+    }
+
+    /**
+     * Access token for a service client (client-credentials grant). {@code sub} and {@code cid}
+     * both hold the client id; there is no user and no token version.
+     */
+    public String generateClientAccessToken(String clientId, List<String> roleCodes, long ttlSeconds) {
+        Instant now = Instant.now();
+        JwtBuilder builder = Jwts.builder()
+                .id(TokenGenerator.tokenId())
+                .issuer(issuer)
+                .subject(clientId)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(ttlSeconds)))
+                .claim("roles", roleCodes)
+                .claim("perms", Permission.encode(rolePermissionIndex.maskOf(roleCodes)))
+                .claim("cid", clientId);
+        return sign(builder);
     }
 
     public Jws<Claims> parseAndValidate(String jwt) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .requireIssuer(issuer)
-                .build()
-                .parseSignedClaims(jwt);
+        return parser.parseSignedClaims(jwt);
+    }
+
+    /**
+     * Verifies one of our access tokens. Our own HS256 shape takes the allocation-light
+     * fast path; anything else (asymmetric, expired, unexpected claims) goes through jjwt.
+     * In asymmetric mode with {@code acceptLegacyHs256} off, kid-less tokens are rejected.
+     */
+    public AccessTokenClaims verifyAccessToken(String jwt) {
+        if (acceptHs256) {
+            AccessTokenClaims claims = fastVerifier.verify(jwt);
+            if (claims != null) return claims;
+        }
+        return AccessTokenClaims.from(parseAndValidate(jwt).getPayload());
+    }
+
+    // ------------------ helper ------------------
+
+    private String sign(JwtBuilder builder) {
+        if (!keyRing.isAsymmetric()) {
+            return builder.signWith(key, Jwts.SIG.HS256).compact();
+        }
+
+        JwtKeyRing.SigningKey signingKey = keyRing.currentSigningKey();
+        return builder
+                .header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.privateKey(), asymmetricAlgorithm())
+                .compact();
+    }
+
+    private Key verificationKey(String kid) {
+        // Tokens without a kid are HS256 tokens signed with the shared secret
+        if (kid == null) {
+            if (!acceptHs256) throw new JwtException("Token without kid rejected: legacy HS256 tokens are disabled");
+            return key;
+        }
+
+        PublicKey publicKey = keyRing.verificationKey(kid);
+        if (publicKey == null) {
+            throw new JwtException("Unknown or retired signing key kid=" + kid);
+        }
+        return publicKey;
+    }
+
+    private SecureDigestAlgorithm<PrivateKey, PublicKey> asymmetricAlgorithm() {
+        return "ES256".equals(keyRing.algorithm()) ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
     }
 }
@@ -0,0 +1,46 @@
+package com.amaravathi.tradeidentity.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Picks the bcrypt work factor for this machine at startup. One hash is timed at a probe
+ * strength and projected (each extra round doubles the cost); the strength whose projected
+ * time is closest to the target wins, clamped to the configured bounds.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    private static final int PROBE_STRENGTH = 8;
+    private static final int SAMPLES = 5;
+
+    private PasswordHashCalibrator() {
+    }
+
+    public static int bcryptStrength(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        String hash = probe.encode("calibration-password");
+
+        // Warm up, then take the median of a few matches to smooth out JIT and noise
+        probe.matches("calibration-password", hash);
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.matches("calibration-password", hash);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double probeMillis = nanos[SAMPLES / 2] / 1_000_000.0;
+
+        // log2(target / probe) extra rounds, rounded to the nearest
+        int strength = PROBE_STRENGTH + (int) Math.round(Math.log(targetMillis / probeMillis) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+
+        log.info("bcrypt calibrated strength={} (probe {}ms at {}, projected {}ms, target {}ms)",
+                strength, String.format("%.2f", probeMillis), PROBE_STRENGTH,
+                Math.round(probeMillis * (1L << (strength - PROBE_STRENGTH))), targetMillis);
+        return strength;
+    }
+}
@@ -0,0 +1,35 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.domain.role.Permission;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Backs {@code hasPermission(...)} in {@code @PreAuthorize} with a single mask test against
+ * the permissions compiled into the caller's access token, e.g.
+ * {@code @PreAuthorize("hasPermission(null, 'USER_MANAGE')")}. The target object is not
+ * consulted: permissions are global, not per resource.
+ */
+@Component
+public class PermissionBitsEvaluator implements PermissionEvaluator {
+
+    @Override
+    public boolean hasPermission(Authentication auth, Object targetDomainObject, Object permission) {
+        return check(auth, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication auth, Serializable targetId, String targetType, Object permission) {
+        return check(auth, permission);
+    }
+
+    private static boolean check(Authentication auth, Object permission) {
+        if (auth == null || !(auth.getPrincipal() instanceof SecurityUser user)) return false;
+
+        Permission p = permission instanceof Permission perm ? perm : Permission.of(String.valueOf(permission));
+        return p != null && user.hasPermission(p);
+    }
+}
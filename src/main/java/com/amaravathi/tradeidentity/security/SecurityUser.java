@@ -1,19 +1,26 @@
 package com.amaravathi.tradeidentity.security;
 
+import com.amaravathi.tradeidentity.domain.role.Permission;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 
+/** Authenticated caller: a user ({@code userId > 0}) or a service client ({@code clientId != null}). */
 public record SecurityUser(
         int userId,
-        String email,
+        String clientId,
+        long permissions,
         Collection<? extends GrantedAuthority> authorities
 ) implements UserDetails {
 
+    public boolean hasPermission(Permission permission) {
+        return permission.isIn(permissions);
+    }
+
     @Override public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
     @Override public String getPassword() { return ""; }
-    @Override public String getUsername() { return String.valueOf(userId); }
+    @Override public String getUsername() { return clientId != null ? clientId : String.valueOf(userId); }
     @Override public boolean isAccountNonExpired() { return true; }
     @Override public boolean isAccountNonLocked() { return true; }
     @Override public boolean isCredentialsNonExpired() { return true; }
@@ -0,0 +1,16 @@
+package com.amaravathi.tradeidentity.security;
+
+import java.time.Instant;
+
+public record VerifiedAccessToken(
+        SecurityUser principal,
+        AccessTokenClaims claims
+) {
+    public Instant expiresAt() {
+        return claims.expiresAt();
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt().isAfter(now);
+    }
+}
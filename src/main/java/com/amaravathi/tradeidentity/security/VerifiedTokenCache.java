@@ -0,0 +1,72 @@
+package com.amaravathi.tradeidentity.security;
+
+import com.amaravathi.tradeidentity.util.TokenHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of access tokens that already passed signature and issuer checks.
+ * Keyed by the SHA-256 of the compact JWS so raw tokens are never kept in memory;
+ * each entry lives exactly until the token's own {@code exp}.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedAccessToken> cache;
+
+    public VerifiedTokenCache(
+            @Value("${security.jwt.cache.maxSize}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+        log.info("Verified access token cache enabled maxSize={}", maxSize);
+    }
+
+    public VerifiedAccessToken get(String jwt) {
+        VerifiedAccessToken token = cache.getIfPresent(TokenHash.sha256(jwt));
+        if (token == null || token.isExpired(Instant.now())) {
+            return null;
+        }
+        return token;
+    }
+
+    public void put(String jwt, VerifiedAccessToken token) {
+        if (token.isExpired(Instant.now())) return;
+        cache.put(TokenHash.sha256(jwt), token);
+    }
+
+    // ------------------ helper ------------------
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedAccessToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedAccessToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedAccessToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedAccessToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
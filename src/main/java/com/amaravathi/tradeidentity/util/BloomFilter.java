@@ -0,0 +1,49 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. Uses Kirsch-Mitzenmacher double hashing from one
+ * 128-bit murmur3 hash, so a probe costs a single pass over the key plus k bit tests.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact(bitCount / 64));
+    }
+
+    public void put(String value) {
+        long[] h = Murmur3.hash128(value);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h[0] + i * h[1], bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) break;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] h = Murmur3.hash128(value);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h[0] + i * h[1], bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+}
@@ -0,0 +1,123 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding-window count-min sketch over strings.
+ * <p>
+ * The window is a ring of {@code slots} sub-sketches, each covering {@code slotMillis}.
+ * Increments go to the current slot; an estimate is, per row, the sum over live slots,
+ * then the minimum across rows (never under-counts, over-counts by collisions only).
+ * Updates are conservative: only rows whose windowed sum is at the minimum are bumped,
+ * which keeps the estimate an upper bound while cutting collision noise sharply.
+ * Slots are recycled lazily when time moves on, so memory is fixed at
+ * {@code slots * depth * width} ints whatever the traffic, and no timer thread is needed.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int slots;
+    private final long slotMillis;
+    private final AtomicIntegerArray[] counters;
+    private final AtomicLongArray slotEpochs;
+
+    public CountMinSketch(int depth, int width, int slots, long slotMillis) {
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.slots = slots;
+        this.slotMillis = slotMillis;
+        this.counters = new AtomicIntegerArray[slots];
+        this.slotEpochs = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) counters[i] = new AtomicIntegerArray(depth * this.width);
+    }
+
+    /**
+     * Width for which the over-count stays within {@code maxOverestimate} of the true count
+     * once {@code expectedCount} keys have been added in a window (w = e / epsilon, with
+     * epsilon = maxOverestimate / expectedCount), per row with probability 1 - 1/e.
+     */
+    public static int widthFor(long expectedCount, long maxOverestimate) {
+        double width = Math.E * expectedCount / Math.max(1, maxOverestimate);
+        return (int) Math.min(1 << 30, Math.max(2, (long) Math.ceil(width)));
+    }
+
+    /** Counts one occurrence of {@code key} and returns its new windowed estimate. */
+    public long add(String key) {
+        long epoch = System.currentTimeMillis() / slotMillis;
+        int[] cells = cells(key);
+        AtomicIntegerArray current = slot(epoch);
+
+        long[] sums = new long[cells.length];
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < cells.length; row++) {
+            sums[row] = windowSum(cells[row], epoch);
+            min = Math.min(min, sums[row]);
+        }
+        // Conservative update: a row already above the minimum over-counts this key anyway
+        for (int row = 0; row < cells.length; row++) {
+            if (sums[row] == min) current.incrementAndGet(cells[row]);
+        }
+        return min + 1;
+    }
+
+    public long estimate(String key) {
+        return estimate(cells(key), System.currentTimeMillis() / slotMillis);
+    }
+
+    public long windowMillis() {
+        return slots * slotMillis;
+    }
+
+    /** Counter memory in bytes. */
+    public long sizeInBytes() {
+        return (long) slots * depth * width * Integer.BYTES;
+    }
+
+    // ------------------ helper ------------------
+
+    private long estimate(int[] cells, long epoch) {
+        long min = Long.MAX_VALUE;
+        for (int cell : cells) min = Math.min(min, windowSum(cell, epoch));
+        return min;
+    }
+
+    private long windowSum(int cell, long epoch) {
+        long sum = 0;
+        for (int s = 0; s < slots; s++) {
+            if (isLive(s, epoch)) sum += counters[s].get(cell);
+        }
+        return sum;
+    }
+
+    private boolean isLive(int s, long epoch) {
+        long e = slotEpochs.get(s);
+        return e > epoch - slots && e <= epoch;
+    }
+
+    private AtomicIntegerArray slot(long epoch) {
+        int s = (int) Math.floorMod(epoch, (long) slots);
+        if (slotEpochs.get(s) != epoch) {
+            synchronized (this) {
+                if (slotEpochs.get(s) != epoch) {
+                    AtomicIntegerArray stale = counters[s];
+                    for (int i = 0; i < stale.length(); i++) stale.set(i, 0);
+                    slotEpochs.set(s, epoch);
+                }
+            }
+        }
+        return counters[s];
+    }
+
+    /** One cell per row, from double hashing of a single murmur3 hash. */
+    private int[] cells(String key) {
+        long[] h = Murmur3.hash128(key);
+        int[] cells = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            int col = (int) ((h[0] + row * h[1]) & (width - 1));
+            cells[row] = row * width + col;
+        }
+        return cells;
+    }
+}
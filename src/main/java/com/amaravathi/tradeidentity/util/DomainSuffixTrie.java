@@ -0,0 +1,115 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.util.*;
+
+/**
+ * Immutable set of DNS domains with suffix matching: {@code mailinator.com} also matches
+ * {@code x.mailinator.com}.
+ * <p>
+ * Domains are stored as a trie over reversed labels ({@code com -> mailinator}). Each
+ * distinct label string is kept once and referred to by id, and the nodes are flattened into
+ * CSR arrays (per node, a sorted run of child label ids and child node indexes), so a few
+ * hundred thousand domains cost a handful of int arrays instead of one map per node.
+ * Lookups walk the labels right to left: one hash lookup per label plus a binary search.
+ */
+public final class DomainSuffixTrie {
+
+    private final Map<String, Integer> labelIds;
+    private final int[] childStart;  // node -> first edge; childStart[node + 1] is the end
+    private final int[] edgeLabel;   // edge -> label id, ascending within a node
+    private final int[] edgeNode;    // edge -> child node
+    private final BitSet terminal;
+    private final int size;
+
+    private DomainSuffixTrie(Map<String, Integer> labelIds, int[] childStart, int[] edgeLabel,
+                             int[] edgeNode, BitSet terminal, int size) {
+        this.labelIds = labelIds;
+        this.childStart = childStart;
+        this.edgeLabel = edgeLabel;
+        this.edgeNode = edgeNode;
+        this.terminal = terminal;
+        this.size = size;
+    }
+
+    /** Builds from normalized, lowercase domains; blanks are skipped. */
+    public static DomainSuffixTrie of(Collection<String> domains) {
+        Map<String, Integer> labelIds = new HashMap<>();
+        Builder root = new Builder();
+        int size = 0;
+
+        for (String domain : domains) {
+            if (domain == null || domain.isEmpty()) continue;
+            Builder node = root;
+            int end = domain.length();
+            while (end > 0) {
+                int dot = domain.lastIndexOf('.', end - 1);
+                String label = domain.substring(dot + 1, end);
+                end = dot;
+                if (label.isEmpty()) continue;
+                int id = labelIds.computeIfAbsent(label, k -> labelIds.size());
+                node = node.children.computeIfAbsent(id, k -> new Builder());
+            }
+            if (node != root && !node.terminal) {
+                node.terminal = true;
+                size++;
+            }
+        }
+
+        // Flatten breadth-first so each node's edges are contiguous
+        List<Builder> order = new ArrayList<>();
+        order.add(root);
+        int edges = 0;
+        for (int i = 0; i < order.size(); i++) {
+            Builder b = order.get(i);
+            b.index = i;
+            order.addAll(b.children.values());
+            edges += b.children.size();
+        }
+
+        int[] childStart = new int[order.size() + 1];
+        int[] edgeLabel = new int[edges];
+        int[] edgeNode = new int[edges];
+        BitSet terminal = new BitSet(order.size());
+        int e = 0;
+        for (Builder b : order) {
+            childStart[b.index] = e;
+            if (b.terminal) terminal.set(b.index);
+            for (Map.Entry<Integer, Builder> child : b.children.entrySet()) {
+                edgeLabel[e] = child.getKey();
+                edgeNode[e] = child.getValue().index;
+                e++;
+            }
+        }
+        childStart[order.size()] = e;
+
+        return new DomainSuffixTrie(Map.copyOf(labelIds), childStart, edgeLabel, edgeNode, terminal, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** True if {@code domain} (lowercase) or any of its parent domains is in the set. */
+    public boolean matches(String domain) {
+        int node = 0;
+        int end = domain.length();
+        while (end > 0) {
+            int dot = domain.lastIndexOf('.', end - 1);
+            Integer id = labelIds.get(domain.substring(dot + 1, end));
+            end = dot;
+            if (id == null) return false;
+
+            int edge = Arrays.binarySearch(edgeLabel, childStart[node], childStart[node + 1], id);
+            if (edge < 0) return false;
+            node = edgeNode[edge];
+            if (terminal.get(node)) return true;
+        }
+        return false;
+    }
+
+    private static final class Builder {
+        final TreeMap<Integer, Builder> children = new TreeMap<>();
+        boolean terminal;
+        int index;
+    }
+}
@@ -0,0 +1,73 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * Top-K keys by an externally supplied, time-decaying count (e.g. a sliding-window
+ * {@link CountMinSketch} estimate). Holds at most {@code k} entries: a new key only gets in
+ * by beating the current minimum. Stored counts go stale as the window slides, so before
+ * deciding an eviction every entry is re-scored against the live count and entries that
+ * have left the window are dropped; otherwise last window's offenders would hold every slot.
+ */
+public class HeavyHitters {
+
+    public record Entry(String key, long count) {
+    }
+
+    private final int k;
+    private final ToLongFunction<String> liveCount;
+    private final Map<String, Long> counts = new HashMap<>();
+
+    public HeavyHitters(int k, ToLongFunction<String> liveCount) {
+        this.k = k;
+        this.liveCount = liveCount;
+    }
+
+    public synchronized void offer(String key, long count) {
+        if (counts.containsKey(key) || counts.size() < k) {
+            counts.put(key, count);
+            return;
+        }
+
+        rescore();
+        if (counts.size() < k) {
+            counts.put(key, count);
+            return;
+        }
+
+        Map.Entry<String, Long> min = null;
+        for (Map.Entry<String, Long> e : counts.entrySet()) {
+            if (min == null || e.getValue() < min.getValue()) min = e;
+        }
+        if (min != null && count > min.getValue()) {
+            counts.remove(min.getKey());
+            counts.put(key, count);
+        }
+    }
+
+    public synchronized boolean contains(String key) {
+        return counts.containsKey(key);
+    }
+
+    /** Current entries re-scored against the live count, highest first. */
+    public synchronized List<Entry> snapshot() {
+        rescore();
+        List<Entry> entries = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> entries.add(new Entry(key, count)));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed());
+        return entries;
+    }
+
+    // ------------------ helper ------------------
+
+    private void rescore() {
+        Iterator<Map.Entry<String, Long>> it = counts.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> e = it.next();
+            long live = liveCount.applyAsLong(e.getKey());
+            if (live > 0) e.setValue(live);
+            else it.remove();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.nio.charset.StandardCharsets;
+
+/** MurmurHash3 for the in-memory probabilistic structures ({@link BloomFilter}, {@link CountMinSketch}). */
+public final class Murmur3 {
+
+    private Murmur3() {
+    }
+
+    /** murmur3 x64 128-bit, seed 0, over the UTF-8 bytes of {@code value}. */
+    public static long[] hash128(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        final long c1 = 0x87c37b91114253d5L;
+        final long c2 = 0x4cf5ad432745937fL;
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = data.length / 16;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+            k1 *= c1; k1 = Long.rotateLeft(k1, 31); k1 *= c2; h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27); h1 += h2; h1 = h1 * 5 + 0x52dce729;
+            k2 *= c2; k2 = Long.rotateLeft(k2, 33); k2 *= c1; h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31); h2 += h1; h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        for (int i = data.length - 1; i >= tail; i--) {
+            int shift = ((i - tail) & 7) * 8;
+            if (i - tail >= 8) k2 ^= (data[i] & 0xffL) << shift;
+            else k1 ^= (data[i] & 0xffL) << shift;
+        }
+        if (k2 != 0) { k2 *= c2; k2 = Long.rotateLeft(k2, 33); k2 *= c1; h2 ^= k2; }
+        if (k1 != 0) { k1 *= c1; k1 = Long.rotateLeft(k1, 31); k1 *= c2; h1 ^= k1; }
+
+        h1 ^= data.length; h2 ^= data.length;
+        h1 += h2; h2 += h1;
+        h1 = fmix(h1); h2 = fmix(h2);
+        h1 += h2; h2 += h1;
+        return new long[]{h1, h2};
+    }
+
+    private static long getLong(byte[] b, int off) {
+        long v = 0;
+        for (int i = 7; i >= 0; i--) v = (v << 8) | (b[off + i] & 0xffL);
+        return v;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,139 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only membership test over a file of fixed-size, ascending, uniformly distributed
+ * binary hashes (or hash prefixes), e.g. a breach corpus of SHA-1 digests.
+ * <p>
+ * The file is memory-mapped in record-aligned chunks of at most 1 GiB (a single mapping is
+ * limited to 2 GiB), so nothing is copied onto the heap and the OS page cache decides what
+ * stays resident. Lookups run an interpolation search on the leading 8 bytes, which takes
+ * O(log log n) probes over uniform hashes, and fall back to binary halving if interpolation
+ * stops converging; each probe is an absolute read from the mapped pages.
+ */
+public class SortedHashFile implements Closeable {
+
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+    private static final int INTERPOLATION_PROBES = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int recordBytes;
+    private final long recordsPerChunk;
+    private final long recordCount;
+
+    public SortedHashFile(Path path, int recordBytes) throws IOException {
+        if (recordBytes < 8 || recordBytes > 64) {
+            throw new IllegalArgumentException("recordBytes must be between 8 and 64");
+        }
+        this.recordBytes = recordBytes;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size % recordBytes != 0) {
+                throw new IOException(path + " size " + size + " is not a multiple of " + recordBytes);
+            }
+            this.recordCount = size / recordBytes;
+            this.recordsPerChunk = MAX_CHUNK_BYTES / recordBytes;
+
+            int chunkCount = (int) ((recordCount + recordsPerChunk - 1) / recordsPerChunk);
+            this.chunks = new MappedByteBuffer[chunkCount];
+            for (int c = 0; c < chunkCount; c++) {
+                long start = c * recordsPerChunk * recordBytes;
+                long length = Math.min(recordsPerChunk * recordBytes, size - start);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long recordCount() {
+        return recordCount;
+    }
+
+    public int recordBytes() {
+        return recordBytes;
+    }
+
+    /** True if a record equals the first {@link #recordBytes()} bytes of {@code hash}. */
+    public boolean contains(byte[] hash) {
+        if (hash.length < recordBytes) throw new IllegalArgumentException("hash shorter than record");
+        if (recordCount == 0) return false;
+
+        long key = head(hash);
+        long lo = 0;
+        long hi = recordCount - 1;
+        int probes = 0;
+
+        while (lo <= hi) {
+            long mid;
+            if (probes++ < INTERPOLATION_PROBES) {
+                long loKey = headAt(lo);
+                long hiKey = headAt(hi);
+                if (Long.compareUnsigned(key, loKey) < 0 || Long.compareUnsigned(key, hiKey) > 0) return false;
+                mid = interpolate(key, loKey, hiKey, lo, hi);
+            } else {
+                mid = (lo + hi) >>> 1;
+            }
+
+            int cmp = compareAt(mid, hash, key);
+            if (cmp == 0) return true;
+            if (cmp < 0) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Mappings are released when the buffers are collected; closing the channel is all we can do
+        channel.close();
+    }
+
+    // ------------------ helper ------------------
+
+    private static long interpolate(long key, long loKey, long hiKey, long lo, long hi) {
+        if (loKey == hiKey) return lo;
+        double fraction = (unsigned(key) - unsigned(loKey)) / (unsigned(hiKey) - unsigned(loKey));
+        long mid = lo + (long) (fraction * (hi - lo));
+        return Math.max(lo, Math.min(hi, mid));
+    }
+
+    private static double unsigned(long v) {
+        double d = (double) (v >>> 1) * 2.0;
+        return d + (v & 1);
+    }
+
+    /** Sign of record[index] - hash over the first recordBytes bytes, unsigned. */
+    private int compareAt(long index, byte[] hash, long key) {
+        MappedByteBuffer chunk = chunks[(int) (index / recordsPerChunk)];
+        int offset = (int) (index % recordsPerChunk) * recordBytes;
+
+        int cmp = Long.compareUnsigned(chunk.getLong(offset), key);
+        if (cmp != 0) return cmp;
+        for (int i = 8; i < recordBytes; i++) {
+            cmp = Integer.compare(chunk.get(offset + i) & 0xff, hash[i] & 0xff);
+            if (cmp != 0) return cmp;
+        }
+        return 0;
+    }
+
+    private long headAt(long index) {
+        MappedByteBuffer chunk = chunks[(int) (index / recordsPerChunk)];
+        return chunk.getLong((int) (index % recordsPerChunk) * recordBytes);
+    }
+
+    private static long head(byte[] hash) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) v = (v << 8) | (hash[i] & 0xff);
+        return v;
+    }
+}
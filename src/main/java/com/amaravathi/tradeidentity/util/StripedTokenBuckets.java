@@ -0,0 +1,76 @@
+package com.amaravathi.tradeidentity.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets keyed by string, for in-process rate limiting.
+ * <p>
+ * Keys hash onto a fixed number of stripes, each an access-ordered {@link LinkedHashMap}
+ * under its own lock, so unrelated keys rarely contend and every stripe evicts its least
+ * recently used bucket once full (an evicted bucket simply starts full again). Refill is
+ * computed lazily from elapsed time on each acquire; no timer threads.
+ */
+public class StripedTokenBuckets {
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public StripedTokenBuckets(int stripeCount, int maxKeys) {
+        int n = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[n];
+        this.mask = n - 1;
+        int perStripe = Math.max(1, maxKeys / n);
+        for (int i = 0; i < n; i++) stripes[i] = new Stripe(perStripe);
+    }
+
+    /**
+     * Takes one token from {@code key}'s bucket.
+     *
+     * @return 0 if allowed, otherwise the nanoseconds until a token will be available
+     */
+    public long tryAcquire(String key, int capacity, double tokensPerSecond) {
+        long now = System.nanoTime();
+        int h = key.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+
+        synchronized (stripe) {
+            Bucket b = stripe.get(key);
+            if (b == null) {
+                b = new Bucket();
+                b.tokens = capacity;
+                b.lastRefillNanos = now;
+                stripe.put(key, b);
+            } else {
+                double refill = (now - b.lastRefillNanos) / 1e9 * tokensPerSecond;
+                b.tokens = Math.min(capacity, b.tokens + refill);
+                b.lastRefillNanos = now;
+            }
+
+            if (b.tokens >= 1) {
+                b.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - b.tokens) / tokensPerSecond * 1e9);
+        }
+    }
+}
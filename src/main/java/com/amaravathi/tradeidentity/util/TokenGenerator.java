@@ -11,4 +11,10 @@ public class TokenGenerator {
         RAND.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
+
+    public static String tokenId() {
+        byte[] bytes = new byte[16];
+        RAND.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 }
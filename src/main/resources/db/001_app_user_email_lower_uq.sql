@@ -0,0 +1,12 @@
+-- Case-insensitive unique email, the conflict target of the sign-up insert
+-- (UserSignUpRepository: ON CONFLICT ((lower(email))) DO NOTHING).
+--
+-- Resolve existing duplicates that differ only in case first; this lists them:
+--   SELECT lower(email), array_agg(id ORDER BY id)
+--   FROM app_user GROUP BY lower(email) HAVING count(*) > 1;
+--
+-- CONCURRENTLY avoids blocking sign-ups while the index builds; it cannot run inside a
+-- transaction block.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS app_user_email_lower_uq
+    ON app_user (lower(email));
@@ -0,0 +1,19 @@
+-- Transactional outbox: rows are written in the same statement as the change that caused
+-- them (UserSignUpRepository) and delivered by OutboxRelay (OutboxRepository).
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id           BIGSERIAL    PRIMARY KEY,
+    event_type   VARCHAR(64)  NOT NULL,
+    aggregate_id INTEGER      NOT NULL,
+    payload      TEXT         NOT NULL,
+    status       VARCHAR(16)  NOT NULL DEFAULT 'PENDING',   -- PENDING, IN_PROGRESS, DONE, FAILED
+    attempts     INTEGER      NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    locked_until TIMESTAMPTZ,
+    processed_at TIMESTAMPTZ,
+    last_error   TEXT,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+-- Serves the relay's claim query (due PENDING rows, expired IN_PROGRESS leases)
+CREATE INDEX IF NOT EXISTS outbox_event_due_idx ON outbox_event (status, available_at);
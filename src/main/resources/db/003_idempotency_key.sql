@@ -0,0 +1,16 @@
+-- Idempotency-Key claims and stored responses (IdempotencyRepository). The key (scoped to
+-- method, path and caller) and the request body are kept as SHA-256 hex; the response body as is.
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    key_hash     CHAR(64)     PRIMARY KEY,
+    request_hash CHAR(64)     NOT NULL,
+    status_code  INTEGER,                  -- null while the first request is in flight
+    content_type VARCHAR(255),
+    body         BYTEA,
+    locked_until TIMESTAMPTZ,
+    expires_at   TIMESTAMPTZ  NOT NULL,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+-- Serves the expiry purge and the takeover of expired claims
+CREATE INDEX IF NOT EXISTS idempotency_key_expires_idx ON idempotency_key (expires_at);
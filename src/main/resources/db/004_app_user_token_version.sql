@@ -0,0 +1,7 @@
+-- Per-user access token version (AppUser.tokenVersion). Bumping it revokes every access
+-- token issued before, on every node (AccessTokenGuard via TokenVersionIndex).
+--
+-- Adding a NOT NULL column with a constant default is metadata-only on PostgreSQL 11+,
+-- so existing rows are not rewritten.
+
+ALTER TABLE app_user ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
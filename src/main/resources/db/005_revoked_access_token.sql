@@ -0,0 +1,14 @@
+-- Denylisted access-token jtis (RevokedAccessToken). Nodes pull new rows into their Bloom
+-- filter by created_at (AccessTokenDenylist); rows are purged once the token has expired.
+
+CREATE TABLE IF NOT EXISTS revoked_access_token (
+    jti        VARCHAR(64)  PRIMARY KEY,
+    user_id    INTEGER      NOT NULL,
+    expires_at TIMESTAMPTZ  NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+-- Serves the incremental denylist sync
+CREATE INDEX IF NOT EXISTS revoked_access_token_created_idx ON revoked_access_token (created_at);
+-- Serves the expiry purge
+CREATE INDEX IF NOT EXISTS revoked_access_token_expires_idx ON revoked_access_token (expires_at);
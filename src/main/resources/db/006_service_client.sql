@@ -0,0 +1,13 @@
+-- Service accounts for the client-credentials grant (ServiceClient, POST /oauth2/token).
+-- secret_hash holds a bcrypt hash of the client secret; clients are provisioned in this table directly.
+
+CREATE TABLE IF NOT EXISTS service_client (
+    id          SERIAL        PRIMARY KEY,
+    client_id   VARCHAR(100)  NOT NULL UNIQUE,
+    name        VARCHAR(200)  NOT NULL,
+    secret_hash VARCHAR(100)  NOT NULL,
+    role_codes  VARCHAR(500)  NOT NULL DEFAULT '',   -- comma-separated role codes
+    enabled     BOOLEAN       NOT NULL DEFAULT TRUE,
+    created_at  TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    updated_at  TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
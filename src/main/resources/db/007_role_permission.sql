@@ -0,0 +1,8 @@
+-- Permissions granted to each role (RolePermission). RolePermissionIndex compiles them into
+-- the bitset carried in the access token's perms claim.
+
+CREATE TABLE IF NOT EXISTS role_permission (
+    role_id    SMALLINT     NOT NULL REFERENCES role (id) ON DELETE CASCADE,
+    permission VARCHAR(64)  NOT NULL,                          -- Permission enum name
+    PRIMARY KEY (role_id, permission)
+);
@@ -0,0 +1,115 @@
+package com.amaravathi.tradeidentity.bench;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Minimal measurement loops shared by the {@code benchmark}-tagged tests: average latency and
+ * heap allocation per operation on the calling thread, or throughput across client threads,
+ * each after a warm-up pass. Run with {@code mvn -Pbenchmark test}.
+ */
+final class Bench {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Keeps results reachable so the JIT cannot drop the measured work. */
+    private static volatile int sink;
+
+    record Result(String name, long iterations, double nanosPerOp, double bytesPerOp) {
+        @Override
+        public String toString() {
+            return String.format("%-32s %10.2f us/op %12.0f B/op  (%d ops)",
+                    name, nanosPerOp / 1_000, bytesPerOp, iterations);
+        }
+    }
+
+    record Throughput(String name, int threads, long ops, double opsPerSecond) {
+        @Override
+        public String toString() {
+            return String.format("%-32s %10.0f ops/s  (%d threads, %d ops)", name, opsPerSecond, threads, ops);
+        }
+    }
+
+    private Bench() {
+    }
+
+    /** Warms several paths together, so the first one measured is not the only one still being compiled. */
+    static void warmup(int iterations, Supplier<?>... ops) {
+        for (Supplier<?> op : ops) run(iterations, op);
+    }
+
+    static Result measure(String name, int warmup, int iterations, Supplier<?> op) {
+        run(warmup, op);
+
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        run(iterations, op);
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        Result result = new Result(name, iterations, (double) elapsed / iterations, (double) bytes / iterations);
+        System.out.println(result);
+        return result;
+    }
+
+    /** Runs {@code op} in a loop on {@code threads} threads for the warm-up, then for the measured duration. */
+    static Throughput throughput(String name, int threads, Duration warmup, Duration duration,
+                                 Callable<?> op) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            loop(pool, threads, warmup, op);
+            long start = System.nanoTime();
+            long ops = loop(pool, threads, duration, op);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Throughput result = new Throughput(name, threads, ops, ops / seconds);
+            System.out.println(result);
+            return result;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long loop(ExecutorService pool, int threads, Duration duration, Callable<?> op) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Long>> counts = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            counts.add(pool.submit(() -> {
+                go.await();
+                long deadline = System.nanoTime() + duration.toNanos();
+                long n = 0;
+                int h = 0;
+                while (System.nanoTime() < deadline) {
+                    Object r = op.call();
+                    h += r == null ? 0 : System.identityHashCode(r);
+                    n++;
+                }
+                sink += h;
+                return n;
+            }));
+        }
+        go.countDown();
+        long total = 0;
+        for (Future<Long> f : counts) total += f.get();
+        return total;
+    }
+
+    private static void run(int iterations, Supplier<?> op) {
+        int h = 0;
+        for (int i = 0; i < iterations; i++) {
+            Object r = op.get();
+            h += r == null ? 0 : System.identityHashCode(r);
+        }
+        sink += h;
+    }
+}
@@ -0,0 +1,63 @@
+package com.amaravathi.tradeidentity.bench;
+
+import com.amaravathi.tradeidentity.security.AccessTokenClaims;
+import com.amaravathi.tradeidentity.security.FastAccessTokenVerifier;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fast-path HS256 verification against the jjwt pipeline it falls back to, on a token with
+ * the exact shape {@code JwtTokenService.generateAccessToken} mints.
+ */
+@Tag("benchmark")
+class FastAccessTokenVerifierBenchmark {
+
+    private static final String ISSUER = "trade-identity-service";
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 300_000;
+
+    private final SecretKey key = Keys.hmacShaKeyFor(
+            "benchmark-secret-benchmark-secret-benchmark".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void fastPathVersusJjwt() {
+        Instant now = Instant.now();
+        String jwt = Jwts.builder()
+                .id("0123456789abcdef0123456789abcdef")
+                .issuer(ISSUER)
+                .subject("4711")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(900)))
+                .claim("roles", List.of("ROLE_TRADER", "ROLE_ADMIN"))
+                .claim("perms", Long.toString(0x3fL, 36))
+                .claim("ver", 3)
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        FastAccessTokenVerifier fast = new FastAccessTokenVerifier(key, ISSUER);
+        JwtParser parser = Jwts.parser().verifyWith(key).requireIssuer(ISSUER).build();
+
+        AccessTokenClaims viaFast = fast.verify(jwt);
+        AccessTokenClaims viaJjwt = AccessTokenClaims.from(parser.parseSignedClaims(jwt).getPayload());
+        assertEquals(viaJjwt, viaFast);
+
+        Bench.Result jjwt = Bench.measure("jjwt parseSignedClaims", WARMUP, ITERATIONS,
+                () -> AccessTokenClaims.from(parser.parseSignedClaims(jwt).getPayload()));
+        Bench.Result fastPath = Bench.measure("FastAccessTokenVerifier", WARMUP, ITERATIONS,
+                () -> fast.verify(jwt));
+
+        assertTrue(fastPath.bytesPerOp() < jjwt.bytesPerOp(), "fast path should allocate less than jjwt");
+    }
+}
@@ -0,0 +1,213 @@
+package com.amaravathi.tradeidentity.bench;
+
+import com.amaravathi.tradeidentity.api.oauth2.IntrospectionController;
+import com.amaravathi.tradeidentity.api.oauth2.dto.IntrospectionResponseDto;
+import com.amaravathi.tradeidentity.domain.introspection.TokenIntrospectionService;
+import com.amaravathi.tradeidentity.domain.user.UserService;
+import com.amaravathi.tradeidentity.grpc.TokenValidationGrpcService;
+import com.amaravathi.tradeidentity.grpc.v1.TokenValidationGrpc;
+import com.amaravathi.tradeidentity.grpc.v1.ValidateTokenRequest;
+import com.amaravathi.tradeidentity.grpc.v1.ValidateTokenResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.*;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Local client harness comparing token validation over REST+JSON ({@code POST /oauth2/introspect}
+ * on Tomcat, HTTP/1.1 keep-alive via HttpURLConnection) with the gRPC service (unary {@code ValidateToken} and the
+ * {@code ValidateTokens} stream). Both servers run in-process on loopback and share one stubbed
+ * {@link TokenIntrospectionService}, so the numbers isolate transport and encoding cost.
+ * Authentication (JwtAuthFilter / GrpcAuthInterceptor) is left out on both sides.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RestVersusGrpcBenchmark {
+
+    private static final int CLIENT_THREADS = 8;
+    private static final int SERVER_THREADS = 8;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.benchmark.token";
+    private static final byte[] FORM = ("token=" + TOKEN + "&token_type_hint=access_token")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final IntrospectionResponseDto ACTIVE = IntrospectionResponseDto.builder()
+            .active(true)
+            .scope("ROLE_TRADER ROLE_ADMIN")
+            .tokenType("access_token")
+            .sub("4711")
+            .iss("trade-identity-service")
+            .jti("0123456789abcdef0123456789abcdef")
+            .iat(Instant.now().getEpochSecond())
+            .exp(Instant.now().getEpochSecond() + 900)
+            .cacheMaxAgeSeconds(60)
+            .build();
+
+    private ConfigurableApplicationContext rest;
+    private Server grpcServer;
+    private ExecutorService grpcExecutor;
+    private ManagedChannel channel;
+    private URL introspectUrl;
+
+    @BeforeAll
+    void start() throws Exception {
+        TokenIntrospectionService introspection = mock(TokenIntrospectionService.class);
+        when(introspection.introspect(anyString())).thenReturn(ACTIVE);
+
+        rest = new SpringApplicationBuilder(RestServer.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("introspectionService", introspection))
+                .properties("spring.config.name=rest-grpc-benchmark", "server.port=0",
+                        "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        int restPort = ((ServletWebServerApplicationContext) rest).getWebServer().getPort();
+        introspectUrl = URI.create("http://127.0.0.1:" + restPort + "/oauth2/introspect").toURL();
+
+        // Same server shape as GrpcServerLifecycle: own fixed executor, plaintext
+        AtomicInteger seq = new AtomicInteger();
+        grpcExecutor = Executors.newFixedThreadPool(SERVER_THREADS, r -> {
+            Thread t = new Thread(r, "grpc-bench-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        grpcServer = Grpc.newServerBuilderForPort(0, InsecureServerCredentials.create())
+                .executor(grpcExecutor)
+                .addService(new TokenValidationGrpcService(introspection, mock(UserService.class)))
+                .build()
+                .start();
+        channel = Grpc.newChannelBuilderForAddress("127.0.0.1", grpcServer.getPort(),
+                InsecureChannelCredentials.create()).build();
+    }
+
+    @AfterAll
+    void stop() throws Exception {
+        if (channel != null) channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        if (grpcServer != null) grpcServer.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        if (grpcExecutor != null) grpcExecutor.shutdownNow();
+        if (rest != null) rest.close();
+    }
+
+    @Test
+    void restVersusGrpcThroughput() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        TokenValidationGrpc.TokenValidationBlockingStub blocking = TokenValidationGrpc.newBlockingStub(channel);
+        ValidateTokenRequest grpcRequest = ValidateTokenRequest.newBuilder().setToken(TOKEN).build();
+
+        // Sanity: both transports answer the same thing
+        IntrospectionResponseDto viaRest = introspectOverRest(json);
+        ValidateTokenResponse viaGrpc = blocking.validateToken(grpcRequest);
+        assertTrue(viaRest.isActive() && viaGrpc.getActive());
+        assertEquals(viaRest.getSub(), String.valueOf(viaGrpc.getUserId()));
+
+        Bench.Throughput restResult = Bench.throughput("REST POST /oauth2/introspect", CLIENT_THREADS, WARMUP, DURATION,
+                () -> introspectOverRest(json));
+
+        Bench.Throughput unary = Bench.throughput("gRPC ValidateToken", CLIENT_THREADS, WARMUP, DURATION,
+                () -> blocking.validateToken(grpcRequest));
+
+        // One long-lived stream per client thread, one request in flight at a time
+        ThreadLocal<StreamClient> streams = ThreadLocal.withInitial(() -> new StreamClient(channel));
+        Bench.Throughput streamed = Bench.throughput("gRPC ValidateTokens (stream)", CLIENT_THREADS, WARMUP, DURATION,
+                () -> streams.get().validate(grpcRequest));
+
+        System.out.printf("gRPC unary / REST: %.2fx, gRPC stream / REST: %.2fx%n",
+                unary.opsPerSecond() / restResult.opsPerSecond(),
+                streamed.opsPerSecond() / restResult.opsPerSecond());
+    }
+
+    // ------------------ helper ------------------
+
+    /**
+     * One introspection call the way RestTemplate's default request factory makes it:
+     * HttpURLConnection over the JDK's keep-alive connection cache, body parsed with Jackson.
+     */
+    private IntrospectionResponseDto introspectOverRest(ObjectMapper json) throws Exception {
+        HttpURLConnection c = (HttpURLConnection) introspectUrl.openConnection();
+        c.setRequestMethod("POST");
+        c.setDoOutput(true);
+        c.setFixedLengthStreamingMode(FORM.length);
+        c.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        try (OutputStream out = c.getOutputStream()) {
+            out.write(FORM);
+        }
+        if (c.getResponseCode() != 200) throw new IllegalStateException("HTTP " + c.getResponseCode());
+        try (InputStream in = c.getInputStream()) {
+            return json.readValue(in, IntrospectionResponseDto.class);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import(IntrospectionController.class)
+    static class RestServer {
+    }
+
+    /** Ping-pong client over one bidirectional ValidateTokens stream. */
+    private static final class StreamClient {
+        private final BlockingQueue<Object> responses = new LinkedBlockingQueue<>();
+        private final StreamObserver<ValidateTokenRequest> requests;
+
+        StreamClient(Channel channel) {
+            this.requests = TokenValidationGrpc.newStub(channel).validateTokens(new StreamObserver<>() {
+                @Override
+                public void onNext(ValidateTokenResponse value) {
+                    responses.add(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    responses.add(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+        }
+
+        ValidateTokenResponse validate(ValidateTokenRequest request) throws Exception {
+            requests.onNext(request);
+            Object r = responses.take();
+            if (r instanceof Throwable t) throw new IllegalStateException("ValidateTokens stream failed", t);
+            return (ValidateTokenResponse) r;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.amaravathi.tradeidentity.bench;
+
+import com.amaravathi.tradeidentity.common.FieldSelection;
+import com.amaravathi.tradeidentity.domain.outbox.OutboxRelay;
+import com.amaravathi.tradeidentity.domain.role.RoleService;
+import com.amaravathi.tradeidentity.domain.user.*;
+import com.amaravathi.tradeidentity.security.BreachedPasswordChecker;
+import com.amaravathi.tradeidentity.security.EmailDomainFilter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sign-in data access before and after the two-phase split, for a failed (wrong password)
+ * and a successful login:
+ * <ul>
+ *   <li>before: the full profile graph by email (four fetch joins), then the password check</li>
+ *   <li>after: {@link UserService#requireCredentialsByEmail}, the password check, and on success
+ *       {@link UserService#requireUserWithDetails} for a response with every association</li>
+ * </ul>
+ * The password check is identical on both sides, so the failed and successful paths differ only
+ * in whether phase two runs. Row width is measured by re-running the exact SQL each path issued
+ * and summing the rows, columns and text bytes it returns; latency is the data access alone.
+ * Runs on in-memory H2 in PostgreSQL mode, so there is no network in the latency and the width
+ * gap is what a remote database would additionally have to ship.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:signin-bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserService.class, UserCredentialsRepository.class, SignInQueryBenchmark.CapturedSql.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SignInQueryBenchmark {
+
+    /** The phase-one lookup sign-in used before the split. */
+    private static final String PROFILE_BY_EMAIL = """
+        select distinct u
+        from AppUser u
+        left join fetch u.originCountry
+        left join fetch u.destinationCountry
+        left join fetch u.productType
+        left join fetch u.roles
+        where u.email = :email
+        """;
+
+    private static final int OTHER_USERS = 2_000;
+    private static final int WARMUP = 10_000;
+    private static final int ITERATIONS = 10_000;
+    private static final String EMAIL = "trader@example.com";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    // UserService collaborators outside the JPA slice; the sign-in reads never touch them
+    @MockBean private PasswordEncoder passwordEncoder;
+    @MockBean private RoleService roleService;
+    @MockBean private UserStatusIndex userStatusIndex;
+    @MockBean private TokenVersionIndex tokenVersionIndex;
+    @MockBean private UserSignUpRepository signUpRepo;
+    @MockBean private OutboxRelay outboxRelay;
+    @MockBean private BreachedPasswordChecker breachedPasswordChecker;
+    @MockBean private EmailDomainFilter emailDomainFilter;
+    @MockBean private RegisteredEmailFilter registeredEmailFilter;
+
+    @Test
+    void failedAndSuccessfulSignIn() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<Optional<AppUser>> profileByEmail = () -> readOnly.execute(tx ->
+                em.createQuery(PROFILE_BY_EMAIL, AppUser.class)
+                        .setParameter("email", EMAIL)
+                        .getResultStream()
+                        .findFirst());
+        Supplier<UserCredentials> credentials = () -> userService.requireCredentialsByEmail(EMAIL);
+
+        // ---- row width
+        int userId = credentials.get().id();
+        Width profileRow = width(profileByEmail, EMAIL);
+        Width credentialRow = width(credentials, EMAIL);
+        Width profileById = width(() -> userService.requireUserWithDetails(userId, FieldSelection.ALL), userId);
+
+        System.out.println("Row width (rows x columns, text bytes):");
+        System.out.println("  before, failed or successful: profile by email " + profileRow);
+        System.out.println("  after, failed:                credential row   " + credentialRow);
+        System.out.println("  after, successful:            credential row   " + credentialRow
+                + " + profile by id " + profileById);
+        assertTrue(credentialRow.bytes() < profileRow.bytes());
+
+        // ---- latency (bcrypt costs the same on both sides, so it is checked once, not timed)
+        String hash = credentials.get().passwordHash();
+        assertFalse(bcrypt.matches("wrong password", hash));
+        assertTrue(bcrypt.matches(PASSWORD, hash));
+
+        Supplier<AppUser> before = () -> profileByEmail.get().orElseThrow();
+        Supplier<AppUser> afterSuccess = () -> userService.requireUserWithDetails(credentials.get().id(), FieldSelection.ALL);
+        Bench.warmup(WARMUP, before, credentials, afterSuccess);
+
+        Bench.measure("before, failed sign-in", WARMUP, ITERATIONS, before);
+        Bench.measure("after, failed sign-in", WARMUP, ITERATIONS, credentials);
+        Bench.measure("before, successful sign-in", WARMUP, ITERATIONS, before);
+        Bench.measure("after, successful sign-in", WARMUP, ITERATIONS, afterSuccess);
+    }
+
+    // ------------------ helper ------------------
+
+    record Width(int statements, int rows, int columns, long bytes) {
+        @Override
+        public String toString() {
+            return String.format("%d stmt, %d rows x %d cols, %d B", statements, rows, columns, bytes);
+        }
+    }
+
+    /**
+     * Runs {@code query}, then replays every statement it issued over plain JDBC, binding
+     * {@code arg} to its single parameter, and measures the result sets.
+     */
+    private Width width(Supplier<?> query, Object arg) {
+        List<String> sqls = CapturedSql.capture(query);
+        int rows = 0;
+        int columns = 0;
+        long bytes = 0;
+        for (String sql : sqls) {
+            long[] acc = new long[3];
+            jdbc.query(sql, rs -> {
+                ResultSetMetaData md = rs.getMetaData();
+                acc[0]++;
+                acc[1] = md.getColumnCount();
+                for (int i = 1; i <= md.getColumnCount(); i++) {
+                    Object v = rs.getObject(i);
+                    if (v != null) acc[2] += v.toString().getBytes(StandardCharsets.UTF_8).length;
+                }
+            }, arg);
+            rows += (int) acc[0];
+            columns = Math.max(columns, (int) acc[1]);
+            bytes += acc[2];
+        }
+        return new Width(sqls.size(), rows, columns, bytes);
+    }
+
+    private void seed() {
+        jdbc.execute("alter table app_user alter column token_version set default 0");
+        jdbc.execute("create index if not exists app_user_email_idx on app_user (email)");
+
+        jdbc.update("insert into country (name, currency, iso2, iso3, phone_code, is_active) values "
+                + "('India', 'INR', 'IN', 'IND', '+91', true), ('United Arab Emirates', 'AED', 'AE', 'ARE', '+971', true)");
+        jdbc.update("insert into product_type (code, name, category, description, hs_code, is_active) values "
+                + "('SPICES', 'Spices', 'Agriculture', 'Whole and ground spices for export', '0904', true)");
+        jdbc.update("insert into role (code, name, type, description, created_at, updated_at) values "
+                + "('ROLE_TRADER', 'Trader', 'SYSTEM', 'Default trader role', now(), now()), "
+                + "('ROLE_EXPORTER', 'Exporter', 'SYSTEM', 'Verified exporter', now(), now())");
+
+        String hash = bcrypt.encode(PASSWORD);
+        List<Object[]> users = new ArrayList<>();
+        users.add(new Object[]{EMAIL, hash});
+        for (int i = 0; i < OTHER_USERS; i++) users.add(new Object[]{"user" + i + "@example.com", hash});
+        jdbc.batchUpdate("""
+            insert into app_user (
+                email, phone, full_name, password_hash, status, email_verified, phone_verified,
+                origin_country_id, destination_country_id, product_type_id, created_at, updated_at,
+                is_email_notification, is_phone_notification, is_app_notification,
+                dob, nationality, visa_status, time_zone, field_of_work, years_exp,
+                prev_business_activity, capital_range, trade_mode, declaration, consent,
+                residence_country, city, preferred_language, occupation, interest,
+                previous_trading_exp, terms_accepted, communication_consent, country_code
+            ) values (
+                ?, '+919876543210', 'Ravi Kumar Venkata', ?, 'ACTIVE', true, true,
+                1, 2, 1, now(), now(),
+                true, false, true,
+                date '1988-04-12', 'Indian', 'NOT_REQUIRED', 'Asia/Kolkata', 'Agricultural exports', 7,
+                'Wholesale spice trading with Gulf distributors', '10L-50L', 'EXPORT', true, true,
+                'India', 'Vijayawada', 'en', 'Business owner', 'Spices, pulses',
+                'Two years of export via agents', true, true, '+91'
+            )
+            """, users);
+        jdbc.update("insert into user_role (user_id, role_id, assigned_at, assigned_by) "
+                + "select u.id, r.id, now(), u.id from app_user u cross join role r");
+    }
+
+    /**
+     * Collects the SQL prepared while {@link #capture} runs, at the JDBC level, so Hibernate
+     * and JdbcTemplate statements are seen alike.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CapturedSql {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static List<String> capture(Supplier<?> work) {
+            CAPTURED.set(new ArrayList<>());
+            try {
+                work.get();
+                return CAPTURED.get();
+            } finally {
+                CAPTURED.remove();
+            }
+        }
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ds ? proxy(DataSource.class, ds) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                List<String> captured = CAPTURED.get();
+                if (captured != null && method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                    captured.add(sql);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    return result instanceof Connection c && type == DataSource.class ? proxy(Connection.class, c) : result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.amaravathi.tradeidentity.domain.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SmtpEmailSender} and {@link EmailDispatcher} against an in-process SMTP server.
+ * Connections are counted from the JavaMail protocol transcript: one {@code EHLO} per
+ * connection opened.
+ */
+class SmtpEmailSenderTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final ByteArrayOutputStream transcript = new ByteArrayOutputStream();
+    private SmtpEmailSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Session session = Session.getInstance(new Properties());
+        session.setDebug(true);
+        session.setDebugOut(new PrintStream(transcript, true, StandardCharsets.UTF_8));
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(session);
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        sender = new SmtpEmailSender(mailSender, "no-reply@trade.example");
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdown();
+    }
+
+    @Test
+    void sendsBatchesOverOneReusedConnection() throws Exception {
+        sender.send(messages("a", 5));
+        sender.send(messages("b", 5));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(10, received.length);
+        assertEquals("Subject a0", received[0].getSubject());
+        assertEquals("no-reply@trade.example", received[0].getFrom()[0].toString());
+        assertEquals(1, connectionsOpened());
+    }
+
+    @Test
+    void replacesConnectionThatNoLongerAnswers() throws Exception {
+        sender.send(messages("a", 2));
+        greenMail.reset(); // drops the pooled connection server-side
+
+        sender.send(messages("b", 2));
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(2, connectionsOpened());
+    }
+
+    @Test
+    void reportsHowManyLeadingMessagesWereDelivered() {
+        List<EmailMessage> batch = new ArrayList<>(messages("a", 2));
+        batch.add(new EmailMessage("not an address", "Subject bad", "Body"));
+        batch.addAll(messages("c", 2));
+
+        EmailSendException ex = assertThrows(EmailSendException.class, () -> sender.send(batch));
+
+        assertEquals(2, ex.delivered());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void dispatcherRetriesOnlyWhatFailedAfterPartialBatch() throws Exception {
+        EmailDispatcher dispatcher = new EmailDispatcher(sender, new SimpleMeterRegistry(),
+                100, 10, 1, 2, 10);
+        try {
+            List<CompletableFuture<Void>> good = new ArrayList<>();
+            messages("a", 3).forEach(m -> good.add(dispatcher.submit(m)));
+            CompletableFuture<Void> bad = dispatcher.submit(new EmailMessage("not an address", "Subject bad", "Body"));
+            messages("c", 3).forEach(m -> good.add(dispatcher.submit(m)));
+
+            CompletableFuture.allOf(good.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            ExecutionException failed = assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(EmailSendException.class, failed.getCause());
+
+            // Every good message exactly once: the delivered head is not resent
+            List<String> subjects = new ArrayList<>();
+            for (MimeMessage m : greenMail.getReceivedMessages()) subjects.add(m.getSubject());
+            subjects.sort(null);
+            assertEquals(List.of("Subject a0", "Subject a1", "Subject a2", "Subject c0", "Subject c1", "Subject c2"),
+                    subjects);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    // ------------------ helper ------------------
+
+    private static List<EmailMessage> messages(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EmailMessage(prefix + i + "@trade.example", "Subject " + prefix + i, "Body " + i))
+                .toList();
+    }
+
+    private long connectionsOpened() {
+        return Arrays.stream(transcript.toString(StandardCharsets.UTF_8).split("\\R"))
+                .filter(line -> line.startsWith("EHLO "))
+                .count();
+    }
+}
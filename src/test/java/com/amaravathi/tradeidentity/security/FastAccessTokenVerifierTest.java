@@ -0,0 +1,205 @@
+package com.amaravathi.tradeidentity.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The fast path must either agree with jjwt, throw the same {@link SignatureException} for a bad
+ * MAC, or return {@code null} so jjwt decides. Hand-built tokens are signed with the real key, so
+ * each one reaches the claim scanner rather than failing on the signature.
+ */
+class FastAccessTokenVerifierTest {
+
+    private static final String ISSUER = "trade-identity-service";
+    private static final String HEADER = "eyJhbGciOiJIUzI1NiJ9";
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKey key = Keys.hmacShaKeyFor(
+            "unit-test-secret-unit-test-secret-unit-test".getBytes(StandardCharsets.UTF_8));
+    private final FastAccessTokenVerifier verifier = new FastAccessTokenVerifier(key, ISSUER);
+    private final JwtParser jjwt = Jwts.parser().verifyWith(key).requireIssuer(ISSUER).build();
+
+    private final long now = Instant.now().getEpochSecond();
+
+    @Test
+    void agreesWithJjwtOnUserToken() {
+        String jwt = Jwts.builder()
+                .id("0123456789abcdef0123456789abcdef")
+                .issuer(ISSUER)
+                .subject("4711")
+                .issuedAt(new Date(now * 1000))
+                .expiration(new Date((now + 900) * 1000))
+                .claim("roles", List.of("ROLE_TRADER", "ROLE_ADMIN"))
+                .claim("perms", Long.toString(0x3fL, 36))
+                .claim("ver", 3)
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        AccessTokenClaims fast = verifier.verify(jwt);
+
+        assertNotNull(fast);
+        assertEquals(AccessTokenClaims.from(jjwt.parseSignedClaims(jwt).getPayload()), fast);
+        assertEquals(4711, fast.userId());
+        assertEquals(3, fast.tokenVersion());
+        assertEquals(0x3fL, fast.permissions());
+    }
+
+    @Test
+    void agreesWithJjwtOnMinimalToken() {
+        String jwt = Jwts.builder()
+                .issuer(ISSUER)
+                .subject("7")
+                .expiration(new Date((now + 60) * 1000))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        AccessTokenClaims fast = verifier.verify(jwt);
+
+        assertNotNull(fast);
+        assertEquals(AccessTokenClaims.from(jjwt.parseSignedClaims(jwt).getPayload()), fast);
+        assertEquals(List.of(), fast.roles());
+        assertNull(fast.issuedAt());
+    }
+
+    @Test
+    void agreesWithJjwtOnServiceClientToken() {
+        String jwt = Jwts.builder()
+                .issuer(ISSUER)
+                .subject("billing-service")
+                .claim("cid", "billing-service")
+                .expiration(new Date((now + 60) * 1000))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        AccessTokenClaims fast = verifier.verify(jwt);
+
+        assertNotNull(fast);
+        assertEquals(AccessTokenClaims.from(jjwt.parseSignedClaims(jwt).getPayload()), fast);
+        assertTrue(fast.isServiceClient());
+        assertEquals(0, fast.userId());
+    }
+
+    @Test
+    void acceptsHandBuiltToken() {
+        // Control for the fallback cases below: the same construction with a well-formed payload passes
+        AccessTokenClaims claims = verifier.verify(sign(userClaims("4711")));
+
+        assertNotNull(claims);
+        assertEquals(4711, claims.userId());
+    }
+
+    @Test
+    void rejectsServiceClientTokenWhoseSubjectIsNotTheClient() {
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"cid\":\"billing-service\",\"exp\":"
+                + (now + 60) + "}")));
+    }
+
+    @Test
+    void tamperedPayloadFailsSignature() {
+        String jwt = sign(userClaims("4711"));
+        String forged = B64.encodeToString(userClaims("1").getBytes(StandardCharsets.UTF_8));
+        String[] parts = jwt.split("\\.");
+
+        assertThrows(SignatureException.class, () -> verifier.verify(parts[0] + "." + forged + "." + parts[2]));
+    }
+
+    @Test
+    void tamperedSignatureFails() {
+        String jwt = sign(userClaims("4711"));
+        int sig = jwt.lastIndexOf('.') + 1;
+        char flipped = jwt.charAt(sig) == 'A' ? 'B' : 'A';
+
+        assertThrows(SignatureException.class,
+                () -> verifier.verify(jwt.substring(0, sig) + flipped + jwt.substring(sig + 1)));
+    }
+
+    @Test
+    void truncatedOrMissingSignatureFallsBack() {
+        String jwt = sign(userClaims("4711"));
+
+        assertNull(verifier.verify(jwt.substring(0, jwt.length() - 1)));
+        assertNull(verifier.verify(jwt.substring(0, jwt.lastIndexOf('.') + 1)));
+        assertNull(verifier.verify(jwt.substring(0, jwt.lastIndexOf('.'))));
+    }
+
+    @Test
+    void foreignIssuerFallsBack() {
+        assertNull(verifier.verify(sign("{\"iss\":\"someone-else\",\"sub\":\"4711\",\"exp\":" + (now + 60) + "}")));
+    }
+
+    @Test
+    void expiredTokenFallsBackToJjwt() {
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"exp\":" + (now - 1) + "}")));
+    }
+
+    @Test
+    void escapedStringsFallBack() {
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"jti\":\"a\\\"b\",\"exp\":"
+                + (now + 60) + "}")));
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"roles\":[\"ROLE_\\u0041\"],\"exp\":"
+                + (now + 60) + "}")));
+    }
+
+    @Test
+    void unknownClaimFallsBack() {
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"aud\":\"x\",\"exp\":"
+                + (now + 60) + "}")));
+    }
+
+    @Test
+    void duplicateClaimFallsBack() {
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"sub\":\"1\",\"exp\":"
+                + (now + 60) + "}")));
+        assertNull(verifier.verify(sign("{\"iss\":\"" + ISSUER + "\",\"sub\":\"4711\",\"exp\":" + (now + 60)
+                + ",\"exp\":" + (now + 600) + "}")));
+    }
+
+    @Test
+    void otherHeaderFallsBack() {
+        String kidHeader = B64.encodeToString("{\"kid\":\"k1\",\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String jwt = Jwts.builder()
+                .header().keyId("k1").and()
+                .issuer(ISSUER)
+                .subject("4711")
+                .expiration(new Date((now + 60) * 1000))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        assertNull(verifier.verify(jwt));
+        assertNull(verifier.verify(sign(kidHeader, userClaims("4711"))));
+    }
+
+    // ------------------ helper ------------------
+
+    private String userClaims(String sub) {
+        return "{\"iss\":\"" + ISSUER + "\",\"sub\":\"" + sub + "\",\"exp\":" + (now + 60) + "}";
+    }
+
+    private String sign(String claimsJson) {
+        return sign(HEADER, claimsJson);
+    }
+
+    private String sign(String header, String claimsJson) {
+        String signingInput = header + "." + B64.encodeToString(claimsJson.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return signingInput + "." + B64.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.amaravathi.tradeidentity.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives {@link HeavyHitters} off a real sliding-window {@link CountMinSketch} with a short
+ * window, so a second attack can be run after the first has rolled out.
+ */
+class HeavyHittersTest {
+
+    private static final int K = 5;
+    private static final long SLOT_MILLIS = 100;
+
+    private final CountMinSketch sketch = new CountMinSketch(4, 1024, 2, SLOT_MILLIS);
+    private final HeavyHitters hitters = new HeavyHitters(K, sketch::estimate);
+
+    @Test
+    void secondAttackWindowDisplacesTheFirst() throws InterruptedException {
+        attack("first-", K, 50);
+        for (int i = 0; i < K; i++) assertTrue(hitters.contains("first-" + i));
+
+        // Let the whole window (2 slots) roll past the first attack
+        Thread.sleep(3 * SLOT_MILLIS);
+
+        // A smaller burst than the first must still get in, since the first is no longer counted
+        attack("second-", K, 20);
+        for (int i = 0; i < K; i++) assertTrue(hitters.contains("second-" + i), "second-" + i);
+        for (int i = 0; i < K; i++) assertFalse(hitters.contains("first-" + i), "first-" + i);
+    }
+
+    @Test
+    void liveKeysAreNotDisplacedByQuieterOnes() {
+        attack("loud-", K, 50);
+        attack("quiet-", 3, 10);
+
+        for (int i = 0; i < K; i++) assertTrue(hitters.contains("loud-" + i));
+        for (int i = 0; i < 3; i++) assertFalse(hitters.contains("quiet-" + i));
+    }
+
+    @Test
+    void snapshotReportsLiveCountsAndDropsExpiredKeys() throws InterruptedException {
+        attack("old-", 2, 30);
+        Thread.sleep(3 * SLOT_MILLIS);
+        attack("new-", 1, 7);
+
+        var snapshot = hitters.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals("new-0", snapshot.get(0).key());
+        assertEquals(7, snapshot.get(0).count());
+    }
+
+    // ------------------ helper ------------------
+
+    private void attack(String prefix, int keys, int failuresPerKey) {
+        for (int n = 0; n < failuresPerKey; n++) {
+            for (int i = 0; i < keys; i++) {
+                String key = prefix + i;
+                hitters.offer(key, sketch.add(key));
+            }
+        }
+    }
+}